@@ -0,0 +1,60 @@
+-- Loads 10M tickets and 10M log entries into the current schema and prints the plan and timing of every
+-- repository query. Run against a scratch database created from schema.sql:
+--   mysql -u ticketuser -p ticketing_bench < query-plans-10m.sql
+-- Every EXPLAIN ANALYZE below should show an index range/lookup, never a full table scan or filesort.
+
+SET SESSION cte_max_recursion_depth = 10000;
+
+-- 10M tickets, the oldest 9.99M sold and the newest 10k on sale
+INSERT INTO tickets (id, ticket_no, available, created_at, vendor_id, customer_id)
+WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 9999)
+SELECT a.n * 1000 + b.n + 1,
+       a.n * 1000 + b.n + 1,
+       a.n * 1000 + b.n + 1 > 9990000,
+       TIMESTAMP('2024-01-01') + INTERVAL (a.n * 1000 + b.n) SECOND,
+       1 + (a.n * 1000 + b.n) % 50,
+       IF(a.n * 1000 + b.n + 1 > 9990000, NULL, 1 + (a.n * 1000 + b.n) % 100000)
+FROM seq a
+JOIN seq b ON b.n < 1000;
+UPDATE ticket_seq SET next_val = 10000001;
+
+-- 10M log entries spread over three event types
+INSERT INTO system_logs (id, event_type, message, timestamp, actor_id)
+WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 9999)
+SELECT a.n * 1000 + b.n + 1,
+       ELT(1 + (a.n * 1000 + b.n) % 3, 'VENDOR', 'CUSTOMER', 'SYSTEM'),
+       CONCAT('Benchmark entry ', a.n * 1000 + b.n + 1),
+       TIMESTAMP('2024-01-01') + INTERVAL (a.n * 1000 + b.n) SECOND,
+       (a.n * 1000 + b.n) % 100000
+FROM seq a
+JOIN seq b ON b.n < 1000;
+UPDATE system_log_seq SET next_val = 10000001;
+
+ANALYZE TABLE tickets, system_logs;
+
+-- TicketRepository.findFirstAvailableTicket
+EXPLAIN ANALYZE SELECT * FROM tickets WHERE available = true ORDER BY ticket_no ASC LIMIT 1;
+
+-- TicketRepository.lockAvailableTickets (run inside a transaction to take the locks)
+START TRANSACTION;
+EXPLAIN ANALYZE SELECT * FROM tickets WHERE available = true ORDER BY ticket_no ASC LIMIT 6 FOR UPDATE SKIP LOCKED;
+ROLLBACK;
+
+-- TicketRepository.countByAvailable
+EXPLAIN ANALYZE SELECT COUNT(*) FROM tickets WHERE available = true;
+EXPLAIN ANALYZE SELECT COUNT(*) FROM tickets WHERE available = false;
+
+-- TicketRepository.findByAvailableOrderByTicketNoAsc (startup recovery)
+EXPLAIN ANALYZE SELECT * FROM tickets WHERE available = true ORDER BY ticket_no ASC;
+
+-- TicketRepository.findTopByOrderByTicketNoDesc
+EXPLAIN ANALYZE SELECT * FROM tickets ORDER BY ticket_no DESC LIMIT 1;
+
+-- SystemLogRepository.findTop100ByOrderByTimestampDesc
+EXPLAIN ANALYZE SELECT * FROM system_logs ORDER BY timestamp DESC LIMIT 100;
+
+-- SystemLogRepository.findByEventTypeOrderByTimestampDesc (first page)
+EXPLAIN ANALYZE SELECT * FROM system_logs WHERE event_type = 'CUSTOMER' ORDER BY timestamp DESC LIMIT 100;
+
+-- SystemConfigurationRepository.findByActive
+EXPLAIN ANALYZE SELECT * FROM system_configuration WHERE active = true;
@@ -0,0 +1,42 @@
+-- Upgrades a database created by the original schema.sql in place.
+-- schema.sql drops and recreates every table on startup; run this instead for a database whose data must be kept
+-- (and set spring.sql.init.mode=never). The ALTERs use ALGORITHM=INPLACE, LOCK=NONE where MySQL 8 allows it,
+-- so ticket sales can continue while indexes are built.
+
+-- 1. Pooled id sources replacing AUTO_INCREMENT (lets Hibernate batch inserts)
+CREATE TABLE IF NOT EXISTS ticket_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO ticket_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM tickets;
+
+CREATE TABLE IF NOT EXISTS system_log_seq (
+    next_val BIGINT NOT NULL
+);
+INSERT INTO system_log_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM system_logs;
+
+-- Dropping AUTO_INCREMENT rebuilds the table, run during a quiet period
+ALTER TABLE tickets MODIFY id BIGINT NOT NULL;
+ALTER TABLE system_logs MODIFY id BIGINT NOT NULL;
+
+-- 2. Numeric ticket sequence, backfilled from the "Ticket-N" label
+ALTER TABLE tickets ADD COLUMN ticket_no BIGINT NULL AFTER id, ALGORITHM=INSTANT;
+UPDATE tickets SET ticket_no = CAST(SUBSTRING(ticket_number, 8) AS UNSIGNED) WHERE ticket_no IS NULL;
+ALTER TABLE tickets MODIFY ticket_no BIGINT NOT NULL;
+UPDATE tickets SET available = TRUE WHERE available IS NULL;
+ALTER TABLE tickets MODIFY available BOOLEAN NOT NULL DEFAULT TRUE;
+ALTER TABLE tickets MODIFY ticket_number VARCHAR(32) NOT NULL;
+
+-- 3. Indexes matching the repository queries
+ALTER TABLE tickets
+    ADD UNIQUE KEY uk_tickets_ticket_no (ticket_no),
+    ADD KEY idx_tickets_available_ticket_no (available, ticket_no),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE system_logs
+    ADD KEY idx_system_logs_timestamp (timestamp),
+    ADD KEY idx_system_logs_event_type_timestamp (event_type, timestamp),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE system_configuration
+    ADD KEY idx_system_configuration_active (active),
+    ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,3 @@
+-- Drops the "Ticket-N" label column; the label is now formatted from ticket_no when a ticket is returned or logged.
+-- Apply after V2 (which backfilled ticket_no from this column). ALGORITHM=INSTANT needs MySQL 8.0.29 or later.
+ALTER TABLE tickets DROP COLUMN ticket_number, ALGORITHM=INSTANT;
@@ -0,0 +1,7 @@
+-- Adds per-second rates and the arrival mode to system_configuration. Existing rows keep 0 rates, which means the
+-- whole-second ticket_release_rate / customer_retrieval_rate columns still apply, and a NULL mode, read as FIXED.
+ALTER TABLE system_configuration
+    ADD COLUMN ticket_releases_per_second DOUBLE NOT NULL DEFAULT 0,
+    ADD COLUMN customer_retrievals_per_second DOUBLE NOT NULL DEFAULT 0,
+    ADD COLUMN arrival_mode VARCHAR(16),
+    ALGORITHM=INSTANT;
@@ -1,5 +1,10 @@
 package com.ticketing.system.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.system.dto.LogCursor;
+import com.ticketing.system.dto.LogQuery;
+import com.ticketing.system.dto.PurchaseResult;
 import com.ticketing.system.dto.TicketStatus;
 import com.ticketing.system.entity.Ticket;
 import com.ticketing.system.entity.SystemConfiguration;
@@ -7,23 +12,42 @@ import com.ticketing.system.entity.SystemLogEntry;
 import com.ticketing.system.service.TicketService;
 import com.ticketing.system.service.ConfigurationService;
 import com.ticketing.system.service.LoggingService;
-import com.ticketing.system.repository.TicketRepository;
+import com.ticketing.system.service.EventStreamService;
+import com.ticketing.system.service.LogArchiveService;
+import com.ticketing.system.service.SimulationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TicketController {
     private static final Logger logger = LoggerFactory.getLogger(TicketController.class);
+    private static final int MAX_LOG_PAGE_SIZE = 1000;
 
     @Autowired
     private TicketService ticketService;
@@ -35,7 +59,16 @@ public class TicketController {
     private LoggingService loggingService;
 
     @Autowired
-    private TicketRepository ticketRepository;
+    private EventStreamService eventStreamService;
+
+    @Autowired
+    private LogArchiveService logArchiveService;
+
+    @Autowired
+    private SimulationService simulationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     // Test endpoint to verify API is working
     @GetMapping("/test")
@@ -57,7 +90,7 @@ public class TicketController {
     @GetMapping("/debug/tickets")
     public ResponseEntity<?> debugTickets() {
         try {
-            return ResponseEntity.ok(ticketRepository.findAll());
+            return ResponseEntity.ok(ticketService.getAllAvailableTickets()); // The table lags behind in memory mode
         } catch (Exception e) {
             logger.error("Debug tickets error: {}", e.getMessage());
             return ResponseEntity.status(500).body("Error: " + e.getMessage());
@@ -77,6 +110,16 @@ public class TicketController {
         }
     }
 
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<?> handleInvalidRequest(MethodArgumentNotValidException e) { // Failed @Valid checks
+        String message = e.getBindingResult().getAllErrors().stream()
+                .map(error -> error instanceof FieldError field && !"AssertTrue".equals(error.getCode())
+                        ? field.getField() + " " + field.getDefaultMessage()
+                        : error.getDefaultMessage()) // Cross-field checks name their fields in the message
+                .collect(Collectors.joining("; "));
+        return ResponseEntity.badRequest().body("Invalid request: " + message);
+    }
+
     @GetMapping("/configuration")
     public ResponseEntity<?> getConfiguration() {
         try {
@@ -112,50 +155,115 @@ public class TicketController {
         }
     }
 
-    @PostMapping("/tickets/customer/{customerId}")
-    public ResponseEntity<?> purchaseTicket(@PathVariable int customerId) {
+    @PostMapping("/tickets/vendor/{vendorId}/batch")
+    public ResponseEntity<?> addTickets(@PathVariable int vendorId, @RequestParam int count) {
+        if (count <= 0) {
+            return ResponseEntity.badRequest().body("Ticket count must be positive");
+        }
         try {
-            Ticket ticket = ticketService.purchaseTicket(customerId);
-            if (ticket == null) {
-                String message = "No tickets available for purchase";
-                loggingService.logCustomerAction(customerId, message);
-                return ResponseEntity.notFound().build();
+            List<Ticket> tickets = ticketService.addTickets(vendorId, count);
+            if (tickets.isEmpty()) {
+                String message = "Unable to add tickets - capacity or limit reached";
+                loggingService.logVendorAction(vendorId, message);
+                return ResponseEntity.badRequest().body(message);
             }
-            loggingService.logCustomerAction(customerId,
-                    "Successfully purchased ticket: " + ticket.getTicketNumber());
-            return ResponseEntity.ok(ticket);
+            return ResponseEntity.ok(tickets);
         } catch (Exception e) {
-            String errorMessage = "Error purchasing ticket: " + e.getMessage();
-            loggingService.logCustomerAction(customerId, errorMessage);
+            String errorMessage = "Error adding tickets: " + e.getMessage();
+            loggingService.logVendorAction(vendorId, errorMessage);
             logger.error(errorMessage);
             return ResponseEntity.internalServerError().body(errorMessage);
         }
     }
 
-    // Status endpoints
-    @GetMapping("/tickets/status")
-    public ResponseEntity<?> getTicketStatus() {
+    // Waiting buyers hold no request thread, the response is written once the purchase completes
+    @PostMapping("/tickets/customer/{customerId}")
+    public CompletableFuture<ResponseEntity<?>> purchaseTicket(@PathVariable int customerId,
+                                                               @RequestParam(required = false) Integer quantity,
+                                                               @RequestParam(defaultValue = "0") long waitMs) {
+        if (waitMs < 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Wait time cannot be negative"));
+        }
+        if (quantity != null && quantity <= 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Ticket quantity must be positive"));
+        }
+        boolean single = quantity == null;
         try {
-            long available = ticketService.getAvailableTicketCount();
-            long total = ticketService.getTotalTicketCount();
-            SystemConfiguration config = configService.getActiveConfiguration();
-            // Fix the remaining calculation to never go below 0
-            long remaining = config != null ? Math.max(0, config.getTotalTickets() - total) : 0;
-            long sold = total - available;
+            return ticketService.purchase(customerId, single ? 1 : quantity, waitMs)
+                    .handle((result, error) -> error == null
+                            ? purchaseResponse(customerId, single, result)
+                            : purchaseFailed(customerId, error instanceof CompletionException ? error.getCause() : error));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(purchaseFailed(customerId, e));
+        }
+    }
+
+    private ResponseEntity<?> purchaseResponse(int customerId, boolean single, PurchaseResult result) {
+        switch (result.status()) {
+            case LIMIT_REACHED:
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .body("Purchase limit of " + ticketService.getMaxTicketsPerCustomer() + " tickets per customer reached");
+            case UNAVAILABLE:
+                if (single) {
+                    loggingService.logCustomerAction(customerId, "No tickets available for purchase");
+                }
+                return ResponseEntity.notFound().build();
+            default:
+                if (!single) {
+                    return ResponseEntity.ok(result.tickets());
+                }
+                Ticket ticket = result.tickets().get(0);
+                loggingService.logCustomerAction(customerId,
+                        "Successfully purchased ticket: " + ticket.getTicketNumber());
+                return ResponseEntity.ok(ticket);
+        }
+    }
+
+    private ResponseEntity<?> purchaseFailed(int customerId, Throwable e) {
+        String errorMessage = "Error purchasing tickets: " + e.getMessage();
+        loggingService.logCustomerAction(customerId, errorMessage);
+        logger.error(errorMessage);
+        return ResponseEntity.internalServerError().body(errorMessage);
+    }
 
-            Map<String, Object> status = new HashMap<>();
-            status.put("availableTickets", available);
-            status.put("totalTickets", total);
-            status.put("remainingTickets", remaining);  // Will now never be negative
-            status.put("soldTickets", sold);
+    // Time buyers spent in the purchase waiting room, overall or for one customer
+    @GetMapping("/tickets/wait-times")
+    public ResponseEntity<?> getWaitTimes(@RequestParam(required = false) Integer customerId) {
+        try {
+            Map<String, Object> waitTimes = ticketService.getWaitTimes(customerId);
+            if (waitTimes == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(waitTimes);
+        } catch (Exception e) {
+            logger.error("Error getting wait times: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Error retrieving wait times: " + e.getMessage());
+        }
+    }
 
-            return ResponseEntity.ok(status);
+    // Status endpoints
+    @GetMapping("/tickets/status")
+    public ResponseEntity<?> getTicketStatus(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        try {
+            // Served from in-memory counters; unchanged polls get a 304 without a body
+            TicketStatus status = ticketService.getTicketStatus();
+            String eTag = status.getETag();
+            if (eTag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(eTag).body(status);
         } catch (Exception e) {
             logger.error("Error getting ticket status: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Error retrieving ticket status");
         }
     }
 
+    // Streams "status" and "logs" events so dashboards don't have to poll
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return eventStreamService.subscribe();
+    }
+
     // Logging endpoints
     @GetMapping("/logs")
     public ResponseEntity<?> getSystemLogs() {
@@ -168,11 +276,36 @@ public class TicketController {
         }
     }
 
+    // Keyset-paginated, newest first; pass the X-Next-Cursor header back as cursor for the next page
     @GetMapping("/logs/{eventType}")
-    public ResponseEntity<?> getLogsByType(@PathVariable String eventType) {
+    public ResponseEntity<?> getLogsByType(@PathVariable String eventType,
+                                           @RequestParam(required = false) Integer actorId,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > MAX_LOG_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("Limit must be between 1 and " + MAX_LOG_PAGE_SIZE);
+        }
+        LogCursor start;
         try {
-            List<SystemLogEntry> logs = loggingService.getLogsByType(eventType);
-            return ResponseEntity.ok(logs);
+            start = cursor != null ? LogCursor.parse(cursor) : null;
+        } catch (IllegalArgumentException | DateTimeParseException e) { // NumberFormatException is an IllegalArgumentException
+            return ResponseEntity.badRequest().body("Invalid cursor: " + cursor);
+        }
+        try {
+            LogQuery query = new LogQuery(eventType, actorId, from, to);
+            List<SystemLogEntry> logs = loggingService.getLogsPage(query, start, limit + 1);
+            if (logs.size() <= limit) {
+                return ResponseEntity.ok(logs);
+            }
+            logs = logs.subList(0, limit);
+            SystemLogEntry last = logs.get(limit - 1);
+            return ResponseEntity.ok()
+                    .header("X-Next-Cursor", new LogCursor(last.getTimestamp(), last.getId()).encode())
+                    .body(logs);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error getting logs by type {}: {}", eventType, e.getMessage());
             return ResponseEntity.internalServerError()
@@ -180,17 +313,118 @@ public class TicketController {
         }
     }
 
+    // Streams every matching entry as one JSON array, reading the table in keyset pages
+    @GetMapping(value = "/logs/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLogs(@RequestParam(required = false) String eventType,
+                                                            @RequestParam(required = false) Integer actorId,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LogQuery query = new LogQuery(eventType, actorId, from, to);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                loggingService.forEachLog(query, entry -> {
+                    try {
+                        generator.writeObject(entry);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                logger.error("Error exporting logs: {}", e.getMessage());
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/logs/archives")
+    public ResponseEntity<?> getArchivedLogDays() {
+        try {
+            return ResponseEntity.ok(logArchiveService.getArchivedDays());
+        } catch (Exception e) {
+            logger.error("Error listing log archives: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Error listing log archives: " + e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/logs/archives/{day}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getArchivedLogs(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+                                                                 @RequestParam(required = false) String eventType,
+                                                                 @RequestParam(required = false) Integer actorId) {
+        try {
+            if (!logArchiveService.hasArchive(day)) {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (IOException e) {
+            logger.error("Error reading log archives: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+        StreamingResponseBody body = out -> logArchiveService.writeArchive(day, eventType, actorId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     // Additional status endpoints
     @GetMapping("/tickets/available")
     public ResponseEntity<?> getAvailableTickets() {
         try {
-            return ResponseEntity.ok(ticketRepository.findByAvailable(true));
+            return ResponseEntity.ok(ticketService.getAllAvailableTickets());
         } catch (Exception e) {
             logger.error("Error getting available tickets: {}", e.getMessage());
             return ResponseEntity.internalServerError().body("Error retrieving available tickets: " + e.getMessage());
         }
     }
 
+    // Server-side simulation endpoints
+    @PostMapping("/simulation/start")
+    public ResponseEntity<?> startSimulation(@RequestParam(defaultValue = "3") int vendors,
+                                             @RequestParam(defaultValue = "5") int customers) {
+        if (vendors < 0 || customers < 0) {
+            return ResponseEntity.badRequest().body("Vendor and customer counts cannot be negative");
+        }
+        try {
+            simulationService.start(vendors, customers);
+            return ResponseEntity.ok(simulationService.getStatus());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error starting simulation: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Error starting simulation: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/simulation/scale")
+    public ResponseEntity<?> scaleSimulation(@RequestParam int vendors, @RequestParam int customers) {
+        if (vendors < 0 || customers < 0) {
+            return ResponseEntity.badRequest().body("Vendor and customer counts cannot be negative");
+        }
+        try {
+            simulationService.scale(vendors, customers);
+            return ResponseEntity.ok(simulationService.getStatus());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error scaling simulation: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Error scaling simulation: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/simulation/stop")
+    public ResponseEntity<?> stopSimulation() {
+        try {
+            simulationService.stop();
+            return ResponseEntity.ok(simulationService.getStatus());
+        } catch (Exception e) {
+            logger.error("Error stopping simulation: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body("Error stopping simulation: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/simulation/status")
+    public ResponseEntity<?> getSimulationStatus() {
+        return ResponseEntity.ok(simulationService.getStatus());
+    }
+
     @GetMapping("/system/health")
     public ResponseEntity<?> getSystemHealth() {
         try {
@@ -198,6 +432,9 @@ public class TicketController {
             health.put("status", "UP");
             health.put("databaseConnection", "OK");
             health.put("timestamp", System.currentTimeMillis());
+            health.put("logQueue", loggingService.getQueueStatistics());
+            health.put("pendingTicketWrites", ticketService.getPendingWriteCount());
+            health.put("deadLetterTicketWrites", ticketService.getDeadLetterWriteCount());
             return ResponseEntity.ok(health);
         } catch (Exception e) {
             logger.error("Error checking system health: {}", e.getMessage());
@@ -0,0 +1,20 @@
+package com.ticketing.system.dto;
+
+import java.time.LocalDateTime;
+
+// Position in the (timestamp, id) descending order of system_logs, sent to clients as "timestamp_id"
+public record LogCursor(LocalDateTime timestamp, long id) {
+
+    public static LogCursor parse(String value) {
+        int separator = value.lastIndexOf('_');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid log cursor: " + value);
+        }
+        return new LogCursor(LocalDateTime.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1)));
+    }
+
+    public String encode() {
+        return timestamp + "_" + id;
+    }
+}
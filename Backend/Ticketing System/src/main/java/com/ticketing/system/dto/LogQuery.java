@@ -0,0 +1,7 @@
+package com.ticketing.system.dto;
+
+import java.time.LocalDateTime;
+
+// Filters for log queries; eventType, actorId, from and to are optional (null means unfiltered)
+public record LogQuery(String eventType, Integer actorId, LocalDateTime from, LocalDateTime to) {
+}
@@ -0,0 +1,22 @@
+package com.ticketing.system.dto;
+
+import com.ticketing.system.entity.Ticket;
+
+import java.util.List;
+
+// Outcome of a purchase; the limit check happens with the purchase, so LIMIT_REACHED is never a stale guess
+public record PurchaseResult(Status status, List<Ticket> tickets) {
+    public enum Status { PURCHASED, LIMIT_REACHED, UNAVAILABLE }
+
+    public static PurchaseResult purchased(List<Ticket> tickets) {
+        return new PurchaseResult(Status.PURCHASED, tickets);
+    }
+
+    public static PurchaseResult limitReached() {
+        return new PurchaseResult(Status.LIMIT_REACHED, List.of());
+    }
+
+    public static PurchaseResult unavailable() {
+        return new PurchaseResult(Status.UNAVAILABLE, List.of());
+    }
+}
@@ -1,5 +1,9 @@
 package com.ticketing.system.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Objects;
+
 public class TicketStatus {
     private long availableTickets;
     private long totalTickets;
@@ -44,4 +48,22 @@ public class TicketStatus {
     public void setSoldTickets(long soldTickets) {
         this.soldTickets = soldTickets;
     }
+
+    @JsonIgnore
+    public String getETag() { // Changes whenever any of the counts change
+        return "\"" + availableTickets + "-" + totalTickets + "-" + remainingTickets + "-" + soldTickets + "\"";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TicketStatus other)) return false;
+        return availableTickets == other.availableTickets && totalTickets == other.totalTickets
+                && remainingTickets == other.remainingTickets && soldTickets == other.soldTickets;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(availableTickets, totalTickets, remainingTickets, soldTickets);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.ticketing.system.entity;
+
+public enum ArrivalMode {
+    FIXED, // Evenly spaced events, the original behaviour
+    JITTERED, // Each gap uniform within +/-50% of the mean
+    POISSON // Exponential gaps, as independent arrivals would have
+}
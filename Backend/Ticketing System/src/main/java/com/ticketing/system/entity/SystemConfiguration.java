@@ -1,18 +1,37 @@
 package com.ticketing.system.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 @Entity
-@Table(name = "system_configuration")
+@Table(name = "system_configuration", indexes = @Index(name = "idx_system_configuration_active", columnList = "active"))
 public class SystemConfiguration {
+    public static final String MAX_RATE = "1000000"; // Events per second per actor, one per microsecond
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Positive
     private int totalTickets;
-    private int ticketReleaseRate;
-    private int customerRetrievalRate;
+    @PositiveOrZero
+    private int ticketReleaseRate; // Seconds between releases, used when ticketReleasesPerSecond is 0
+    @PositiveOrZero
+    private int customerRetrievalRate; // Seconds between purchases, used when customerRetrievalsPerSecond is 0
+    @Positive
     private int maxTicketCapacity;
+    @PositiveOrZero
+    @DecimalMax(MAX_RATE)
+    private double ticketReleasesPerSecond; // Per vendor, may be fractional or above 1
+    @PositiveOrZero
+    @DecimalMax(MAX_RATE)
+    private double customerRetrievalsPerSecond; // Per customer
+    @Enumerated(EnumType.STRING)
+    private ArrivalMode arrivalMode; // Null in configurations saved before it existed
     private boolean active;
 
     // Getters and Setters
@@ -56,6 +75,52 @@ public class SystemConfiguration {
         this.maxTicketCapacity = maxTicketCapacity;
     }
 
+    public double getTicketReleasesPerSecond() {
+        return ticketReleasesPerSecond;
+    }
+
+    public void setTicketReleasesPerSecond(double ticketReleasesPerSecond) {
+        this.ticketReleasesPerSecond = ticketReleasesPerSecond;
+    }
+
+    public double getCustomerRetrievalsPerSecond() {
+        return customerRetrievalsPerSecond;
+    }
+
+    public void setCustomerRetrievalsPerSecond(double customerRetrievalsPerSecond) {
+        this.customerRetrievalsPerSecond = customerRetrievalsPerSecond;
+    }
+
+    public ArrivalMode getArrivalMode() {
+        return arrivalMode != null ? arrivalMode : ArrivalMode.FIXED;
+    }
+
+    public void setArrivalMode(ArrivalMode arrivalMode) {
+        this.arrivalMode = arrivalMode;
+    }
+
+    @JsonIgnore
+    public double getEffectiveReleaseRate() { // Events per second per vendor from whichever field is set
+        return ticketReleasesPerSecond > 0 ? ticketReleasesPerSecond : 1.0 / ticketReleaseRate;
+    }
+
+    @JsonIgnore
+    public double getEffectiveRetrievalRate() {
+        return customerRetrievalsPerSecond > 0 ? customerRetrievalsPerSecond : 1.0 / customerRetrievalRate;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "ticketReleaseRate or ticketReleasesPerSecond must be positive")
+    public boolean isReleaseRateSet() {
+        return ticketReleaseRate > 0 || ticketReleasesPerSecond > 0;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "customerRetrievalRate or customerRetrievalsPerSecond must be positive")
+    public boolean isRetrievalRateSet() {
+        return customerRetrievalRate > 0 || customerRetrievalsPerSecond > 0;
+    }
+
     public boolean isActive() {
         return active;
     }
@@ -4,10 +4,14 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "system_logs")
+@Table(name = "system_logs", indexes = {
+        @Index(name = "idx_system_logs_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_system_logs_event_type_timestamp", columnList = "eventType, timestamp")
+})
 public class SystemLogEntry {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "system_log_seq")
+    @SequenceGenerator(name = "system_log_seq", sequenceName = "system_log_seq", allocationSize = 200) // Matches the log writer batch size
     private Long id;
 
     @Column(nullable = false)
@@ -23,7 +27,9 @@ public class SystemLogEntry {
 
     @PrePersist
     protected void onCreate() {
-        timestamp = LocalDateTime.now();
+        if (timestamp == null) { // Queued entries keep the time they were logged, not the time they were written
+            timestamp = LocalDateTime.now();
+        }
     }
 
     // Constructors
@@ -4,13 +4,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "uk_tickets_ticket_no", columnList = "ticketNo", unique = true),
+        @Index(name = "idx_tickets_available_ticket_no", columnList = "available, ticketNo")
+})
 public class Ticket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50) // Pooled ids keep JDBC batching enabled
     private Long id;
 
-    private String ticketNumber;
+    @Column(nullable = false)
+    private long ticketNo; // Numeric ticket sequence, the only stored form of the ticket number
+
     private boolean available;
     private LocalDateTime createdAt;
     private Integer vendorId;
@@ -18,7 +24,20 @@ public class Ticket {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        if (createdAt == null) { // Tickets from the in-memory inventory are stamped at release time
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Ticket snapshot() { // Detached copy for another thread, so an entity is never shared while it changes
+        Ticket copy = new Ticket();
+        copy.id = id;
+        copy.ticketNo = ticketNo;
+        copy.available = available;
+        copy.createdAt = createdAt;
+        copy.vendorId = vendorId;
+        copy.customerId = customerId;
+        return copy;
     }
 
     // Getters and Setters
@@ -30,12 +49,16 @@ public class Ticket {
         this.id = id;
     }
 
-    public String getTicketNumber() {
-        return ticketNumber;
+    public long getTicketNo() {
+        return ticketNo;
+    }
+
+    public void setTicketNo(long ticketNo) {
+        this.ticketNo = ticketNo;
     }
 
-    public void setTicketNumber(String ticketNumber) {
-        this.ticketNumber = ticketNumber;
+    public String getTicketNumber() { // "Ticket-N" label for API responses and log messages, not persisted
+        return "Ticket-" + ticketNo;
     }
 
     public boolean isAvailable() {
@@ -1,13 +1,40 @@
 package com.ticketing.system.repository;
 
 import com.ticketing.system.entity.SystemLogEntry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface SystemLogRepository extends JpaRepository<SystemLogEntry, Long> {
-    List<SystemLogEntry> findAllByOrderByTimestampDesc();
-    List<SystemLogEntry> findByEventTypeOrderByTimestampDesc(String eventType);
     List<SystemLogEntry> findTop100ByOrderByTimestampDesc();
+
+    List<SystemLogEntry> findByTimestampBeforeOrderByTimestampAscIdAsc(LocalDateTime cutoff, Limit limit);
+
+    // Keyset pages in (timestamp, id) ascending order: rows before the cutoff and strictly after the cursor, oldest first
+    @Query("SELECT l FROM SystemLogEntry l WHERE l.timestamp < :cutoff"
+            + " AND (l.timestamp > :afterTime OR (l.timestamp = :afterTime AND l.id > :afterId))"
+            + " ORDER BY l.timestamp ASC, l.id ASC")
+    List<SystemLogEntry> findExpiredAfter(@Param("cutoff") LocalDateTime cutoff, @Param("afterTime") LocalDateTime afterTime,
+                                          @Param("afterId") long afterId, Limit limit);
+
+    // Keyset pages in (timestamp, id) descending order: rows strictly before the cursor, newest first
+    @Query("SELECT l FROM SystemLogEntry l WHERE l.eventType = :eventType"
+            + " AND (:actorId IS NULL OR l.actorId = :actorId) AND l.timestamp >= :from"
+            + " AND (l.timestamp < :beforeTime OR (l.timestamp = :beforeTime AND l.id < :beforeId))"
+            + " ORDER BY l.timestamp DESC, l.id DESC")
+    List<SystemLogEntry> findPageByEventType(@Param("eventType") String eventType, @Param("actorId") Integer actorId,
+                                             @Param("from") LocalDateTime from, @Param("beforeTime") LocalDateTime beforeTime,
+                                             @Param("beforeId") long beforeId, Limit limit);
+
+    @Query("SELECT l FROM SystemLogEntry l WHERE (:actorId IS NULL OR l.actorId = :actorId) AND l.timestamp >= :from"
+            + " AND (l.timestamp < :beforeTime OR (l.timestamp = :beforeTime AND l.id < :beforeId))"
+            + " ORDER BY l.timestamp DESC, l.id DESC")
+    List<SystemLogEntry> findPage(@Param("actorId") Integer actorId, @Param("from") LocalDateTime from,
+                                  @Param("beforeTime") LocalDateTime beforeTime, @Param("beforeId") long beforeId,
+                                  Limit limit);
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.ticketing.system.repository;
 import com.ticketing.system.entity.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -11,13 +12,21 @@ import java.util.Optional;
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
     List<Ticket> findByAvailable(boolean available);
 
+    List<Ticket> findByAvailableOrderByTicketNoAsc(boolean available);
+
     long countByAvailable(boolean available);
 
-    @Query(value = "SELECT * FROM tickets WHERE available = true ORDER BY created_at ASC LIMIT 1", nativeQuery = true)
+    @Query(value = "SELECT * FROM tickets WHERE available = true ORDER BY ticket_no ASC LIMIT 1", nativeQuery = true)
     List<Ticket> findFirstAvailableTicket();
 
+    @Query(value = "SELECT * FROM tickets WHERE available = true ORDER BY ticket_no ASC LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Ticket> lockAvailableTickets(@Param("limit") int limit);
+
+    @Query("SELECT t.customerId, COUNT(t) FROM Ticket t WHERE t.available = false AND t.customerId IS NOT NULL GROUP BY t.customerId")
+    List<Object[]> countSoldByCustomer(); // Rows of customerId, tickets bought
+
     @Query("SELECT COUNT(t) FROM Ticket t")
     long getTotalTicketCount();
 
-    Optional<Ticket> findTopByOrderByTicketNumberDesc();
+    Optional<Ticket> findTopByOrderByTicketNoDesc();
 }
\ No newline at end of file
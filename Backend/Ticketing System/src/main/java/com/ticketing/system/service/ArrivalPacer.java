@@ -0,0 +1,58 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.ArrivalMode;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Paces one simulated actor at a mean rate in events per second. Arrival times follow the configured mode and are
+// handed out as tokens: a tick that fires late, or is skipped while a call is still running, collects every arrival
+// it missed up to 100ms worth. Not thread-safe, each actor's ticks run one at a time.
+public class ArrivalPacer {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long BURST_WINDOW_NANOS = 100_000_000L; // Token bucket capacity, in time
+
+    private final ArrivalMode mode;
+    private final double meanIntervalNanos;
+    private final int burstLimit;
+    private long nextArrival; // System.nanoTime() of the next event
+    private boolean started = false;
+
+    public ArrivalPacer(double ratePerSecond, ArrivalMode mode) {
+        this.mode = mode;
+        this.meanIntervalNanos = NANOS_PER_SECOND / ratePerSecond;
+        this.burstLimit = (int) Math.max(1, BURST_WINDOW_NANOS / meanIntervalNanos);
+    }
+
+    public long getMeanIntervalNanos() {
+        return (long) meanIntervalNanos;
+    }
+
+    public int acquire(long now) { // Events due at now, the first call is always due
+        if (!started) {
+            started = true;
+            nextArrival = now;
+        }
+        int due = 0;
+        while (nextArrival <= now && due < burstLimit) {
+            due++;
+            nextArrival += nextGap();
+        }
+        if (nextArrival <= now) {
+            nextArrival = now + nextGap(); // Bucket full, arrivals beyond it are dropped
+        }
+        return due;
+    }
+
+    public long nanosUntilNext(long now) {
+        return started ? Math.max(0, nextArrival - now) : 0;
+    }
+
+    private long nextGap() {
+        double gap = switch (mode) {
+            case JITTERED -> meanIntervalNanos * (0.5 + ThreadLocalRandom.current().nextDouble());
+            case POISSON -> -meanIntervalNanos * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+            case FIXED -> meanIntervalNanos;
+        };
+        return Math.max(1, (long) gap);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.SystemConfiguration;
+
+// Published by ConfigurationService once a new active configuration has been committed
+public class ConfigurationChangedEvent {
+    private final SystemConfiguration configuration;
+
+    public ConfigurationChangedEvent(SystemConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public SystemConfiguration getConfiguration() {
+        return configuration;
+    }
+}
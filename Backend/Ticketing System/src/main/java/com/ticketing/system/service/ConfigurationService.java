@@ -5,8 +5,12 @@ import com.ticketing.system.repository.SystemConfigurationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class ConfigurationService {
@@ -15,6 +19,14 @@ public class ConfigurationService {
     @Autowired
     private SystemConfigurationRepository configRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Cached copy of the active configuration, replaced only when a new one is committed
+    private volatile SystemConfiguration activeConfiguration;
+    private volatile boolean cacheLoaded = false;
+    private final ReentrantLock cacheLock = new ReentrantLock(); // Not a monitor, loading queries the database
+
     @Transactional
     public SystemConfiguration saveConfiguration(SystemConfiguration config) {
         try {
@@ -29,6 +41,7 @@ public class ConfigurationService {
             config.setActive(true);
             SystemConfiguration savedConfig = configRepository.save(config);
             logger.info("Saved new configuration: {}", savedConfig.getId());
+            eventPublisher.publishEvent(new ConfigurationChangedEvent(copyOf(savedConfig))); // Delivered after commit
             return savedConfig;
         } catch (Exception e) {
             logger.error("Error saving configuration: " + e.getMessage(), e);
@@ -36,12 +49,52 @@ public class ConfigurationService {
         }
     }
 
-    public SystemConfiguration getActiveConfiguration() {
+    public SystemConfiguration getActiveConfiguration() { // Callers must treat the result as read-only
+        if (!cacheLoaded) {
+            loadActiveConfiguration();
+        }
+        return activeConfiguration;
+    }
+
+    @TransactionalEventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        cacheLock.lock();
         try {
-            return configRepository.findByActive(true);
+            activeConfiguration = event.getConfiguration();
+            cacheLoaded = true;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void loadActiveConfiguration() {
+        cacheLock.lock();
+        try {
+            if (cacheLoaded) {
+                return; // Loaded or replaced while waiting for the lock
+            }
+            SystemConfiguration config = configRepository.findByActive(true);
+            activeConfiguration = config != null ? copyOf(config) : null;
+            cacheLoaded = true;
         } catch (Exception e) {
             logger.error("Error getting active configuration: " + e.getMessage(), e);
             throw e;
+        } finally {
+            cacheLock.unlock();
         }
     }
-}
\ No newline at end of file
+
+    private static SystemConfiguration copyOf(SystemConfiguration config) { // Detached from the persistence context
+        SystemConfiguration copy = new SystemConfiguration();
+        copy.setId(config.getId());
+        copy.setTotalTickets(config.getTotalTickets());
+        copy.setTicketReleaseRate(config.getTicketReleaseRate());
+        copy.setCustomerRetrievalRate(config.getCustomerRetrievalRate());
+        copy.setMaxTicketCapacity(config.getMaxTicketCapacity());
+        copy.setTicketReleasesPerSecond(config.getTicketReleasesPerSecond());
+        copy.setCustomerRetrievalsPerSecond(config.getCustomerRetrievalsPerSecond());
+        copy.setArrivalMode(config.getArrivalMode());
+        copy.setActive(config.isActive());
+        return copy;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.Ticket;
+import com.ticketing.system.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Claims tickets with row locks so concurrent buyers each get different rows
+@Service
+public class DatabaseTicketClaimer {
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Transactional(rollbackFor = Exception.class)
+    public List<Ticket> claim(int customerId, int quantity) {
+        // Rows locked by other buyers are skipped rather than waited on
+        List<Ticket> tickets = ticketRepository.lockAvailableTickets(quantity);
+        if (tickets.size() < quantity) {
+            return List.of(); // All or nothing, the locks are released on commit
+        }
+        for (Ticket ticket : tickets) {
+            ticket.setAvailable(false);
+            ticket.setCustomerId(customerId);
+        }
+        return ticketRepository.saveAll(tickets);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.TicketStatus;
+import com.ticketing.system.entity.SystemLogEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes ticket status changes and new log entries to dashboards over Server-Sent Events.
+// Updates are coalesced and sent at most once per interval, from memory, whatever the number of viewers.
+// Pushes run on their own thread, so a slow subscriber never holds up the @Scheduled jobs or is held up by them.
+@Service
+public class EventStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamService.class);
+    private static final int MAX_LOGS_PER_PUSH = 100; // Dashboards only show the latest 100 entries
+
+    @Autowired
+    private TicketInventory inventory;
+
+    @Value("${ticketing.stream.interval-ms:500}")
+    private long pushIntervalMs;
+
+    @Value("${ticketing.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private ScheduledExecutorService pusher;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final Queue<SystemLogEntry> pendingLogs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingLogCount = new AtomicInteger(0);
+    private volatile TicketStatus lastStatus;
+
+    @PostConstruct
+    private void start() {
+        pusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("event-stream").daemon().factory());
+        pusher.scheduleAtFixedRate(this::pushSafely, pushIntervalMs, pushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pusher.shutdownNow();
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        send(emitter, "status", inventory.getStatus()); // New viewers start from the current state
+        return emitter;
+    }
+
+    public void publishLog(SystemLogEntry entry) { // Call once the entry is saved, so it carries its id
+        if (emitters.isEmpty()) {
+            return;
+        }
+        pendingLogs.offer(entry);
+        if (pendingLogCount.incrementAndGet() > MAX_LOGS_PER_PUSH) {
+            pendingLogs.poll(); // Older entries would be pushed off the dashboard anyway
+            pendingLogCount.decrementAndGet();
+        }
+    }
+
+    private void pushSafely() {
+        try {
+            push();
+        } catch (RuntimeException e) {
+            logger.error("Error pushing to event stream: {}", e.getMessage()); // An escaping exception would cancel the schedule
+        }
+    }
+
+    private void push() {
+        List<SystemLogEntry> logs = new ArrayList<>();
+        SystemLogEntry entry;
+        while ((entry = pendingLogs.poll()) != null) {
+            pendingLogCount.decrementAndGet();
+            logs.add(entry);
+        }
+        if (emitters.isEmpty()) {
+            lastStatus = null;
+            return;
+        }
+
+        TicketStatus status = inventory.getStatus();
+        if (!status.equals(lastStatus)) {
+            lastStatus = status;
+            emitters.forEach(emitter -> send(emitter, "status", status));
+        }
+        if (!logs.isEmpty()) {
+            emitters.forEach(emitter -> send(emitter, "logs", logs));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    private void send(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping event stream subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+            emitter.completeWithError(e); // Ends the async request instead of leaving it open until the timeout
+        }
+    }
+}
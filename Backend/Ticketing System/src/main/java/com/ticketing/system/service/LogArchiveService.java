@@ -0,0 +1,253 @@
+package com.ticketing.system.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.system.entity.SystemLogEntry;
+import com.ticketing.system.repository.SystemLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Moves system_logs entries past the retention window into gzipped JSON-lines files, one or more per day.
+// Each file is written under a temporary name and renamed into place before its entries are deleted, so a crash
+// leaves either a complete file or none; runs never overlap.
+@Service
+public class LogArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(LogArchiveService.class);
+    private static final String FILE_PREFIX = "system-logs-";
+    private static final String FILE_SUFFIX = ".jsonl.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    @Autowired
+    private SystemLogRepository logRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ticketing.logging.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${ticketing.logging.archive-dir:log-archive}")
+    private String archiveDir;
+
+    @Value("${ticketing.logging.archive-chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${ticketing.logging.archive-file-entries:100000}")
+    private int fileEntries; // Entries per run written before its files are renamed into place and deleted from the table
+
+    private final AtomicBoolean archiving = new AtomicBoolean(false);
+
+    @Scheduled(cron = "${ticketing.logging.archive-cron:0 0 * * * *}")
+    public void archiveOldLogs() {
+        if (!archiving.compareAndSet(false, true)) {
+            logger.warn("Previous log archive run still going, skipping this one");
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long archived = 0;
+        ArchivePart part = null;
+        try {
+            Files.createDirectories(Paths.get(archiveDir));
+            deleteTempFiles(); // Left by a run that crashed, their entries are still in the table
+            part = new ArchivePart();
+            SystemLogEntry last = null;
+            while (true) {
+                // Small chunks keep each query and DELETE short so the writer and readers are never blocked for long
+                List<SystemLogEntry> chunk = last == null
+                        ? logRepository.findByTimestampBeforeOrderByTimestampAscIdAsc(cutoff, Limit.of(chunkSize))
+                        : logRepository.findExpiredAfter(cutoff, last.getTimestamp(), last.getId(), Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                part.write(chunk);
+                if (part.size() >= fileEntries) {
+                    archived += part.commit();
+                    part = new ArchivePart();
+                }
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                last = chunk.get(chunk.size() - 1);
+            }
+            archived += part.commit();
+            if (archived > 0) {
+                logger.info("Archived {} log entries older than {}", archived, cutoff);
+            }
+        } catch (Exception e) {
+            logger.error("Error archiving logs after {} entries: {}", archived, e.getMessage());
+        } finally {
+            if (part != null) {
+                part.discard();
+            }
+            archiving.set(false);
+        }
+    }
+
+    private void deleteTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(archiveDir))) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX + TEMP_SUFFIX)).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Entries archived by one run, one temporary file per day until commit() renames them into place
+    private class ArchivePart {
+        private final Map<LocalDate, DayFile> files = new TreeMap<>();
+        private final List<Long> ids = new ArrayList<>();
+
+        void write(List<SystemLogEntry> chunk) throws IOException {
+            for (SystemLogEntry entry : chunk) {
+                DayFile file = files.get(entry.getTimestamp().toLocalDate());
+                if (file == null) { // Named after its first entry, so a run repeated after a crash replaces it
+                    file = new DayFile(archivePath(entry.getTimestamp().toLocalDate(), entry.getId()));
+                    files.put(entry.getTimestamp().toLocalDate(), file);
+                }
+                file.writer.write(objectMapper.writeValueAsString(entry));
+                file.writer.write('\n');
+                ids.add(entry.getId());
+            }
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        int commit() throws IOException { // Entries are deleted only once their file is durable under its final name
+            for (DayFile file : files.values()) {
+                file.finish();
+                Files.move(file.temp, file.target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            files.clear();
+            for (int i = 0; i < ids.size(); i += chunkSize) {
+                logRepository.deleteAllByIdInBatch(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+            }
+            int count = ids.size();
+            ids.clear();
+            return count;
+        }
+
+        void discard() { // After a failure; the entries stay in the table for the next run
+            for (DayFile file : files.values()) {
+                try {
+                    file.writer.close();
+                    Files.deleteIfExists(file.temp);
+                } catch (IOException e) {
+                    logger.warn("Could not remove temporary archive {}: {}", file.temp, e.getMessage());
+                }
+            }
+            files.clear();
+        }
+    }
+
+    private static class DayFile {
+        final Path target;
+        final Path temp;
+        final FileOutputStream out;
+        final GZIPOutputStream gzip;
+        final Writer writer;
+
+        DayFile(Path target) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+            this.out = new FileOutputStream(temp.toFile());
+            this.gzip = new GZIPOutputStream(out);
+            this.writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+        }
+
+        void finish() throws IOException {
+            writer.flush();
+            gzip.finish();
+            out.getFD().sync(); // On disk before the rename makes it visible
+            writer.close();
+        }
+    }
+
+    public List<LocalDate> getArchivedDays() throws IOException {
+        try (Stream<Path> files = archiveFiles()) {
+            return files.map(path -> archiveDay(path.getFileName().toString()))
+                    .distinct()
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public boolean hasArchive(LocalDate day) throws IOException {
+        return !archiveFiles(day).isEmpty();
+    }
+
+    // Copies one day's archived entries as a JSON array, filtered by event type and actor when given
+    public void writeArchive(LocalDate day, String eventType, Integer actorId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            for (Path file : archiveFiles(day)) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        SystemLogEntry entry = objectMapper.readValue(line, SystemLogEntry.class);
+                        if ((eventType == null || eventType.equals(entry.getEventType()))
+                                && (actorId == null || actorId.equals(entry.getActorId()))) {
+                            generator.writeObject(entry);
+                        }
+                    }
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private Stream<Path> archiveFiles() throws IOException { // Every finished archive file; close the stream
+        Path dir = Paths.get(archiveDir);
+        if (!Files.isDirectory(dir)) {
+            return Stream.empty();
+        }
+        return Files.list(dir).filter(path -> {
+            String name = path.getFileName().toString();
+            return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+        });
+    }
+
+    private List<Path> archiveFiles(LocalDate day) throws IOException { // In the order they were written
+        try (Stream<Path> files = archiveFiles()) {
+            return files.filter(path -> archiveDay(path.getFileName().toString()).equals(day))
+                    .sorted(Comparator.comparingLong(path -> firstId(path.getFileName().toString())))
+                    .toList();
+        }
+    }
+
+    private static LocalDate archiveDay(String name) { // system-logs-<day>.jsonl.gz, or system-logs-<day>.<first id>.jsonl.gz
+        String base = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+        int dot = base.indexOf('.');
+        return LocalDate.parse(dot < 0 ? base : base.substring(0, dot));
+    }
+
+    private static long firstId(String name) { // -1 for a whole-day file from before files were split by run
+        String base = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+        int dot = base.indexOf('.');
+        return dot < 0 ? -1 : Long.parseLong(base.substring(dot + 1));
+    }
+
+    private Path archivePath(LocalDate day, long firstId) {
+        return Paths.get(archiveDir, FILE_PREFIX + day + "." + firstId + FILE_SUFFIX);
+    }
+}
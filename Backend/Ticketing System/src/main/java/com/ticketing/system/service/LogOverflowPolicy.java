@@ -0,0 +1,7 @@
+package com.ticketing.system.service;
+
+public enum LogOverflowPolicy {
+    DROP_NEWEST, // Discard the entry being logged
+    DROP_OLDEST, // Make room by discarding the oldest queued entry
+    BLOCK // Wait for the writer to make room
+}
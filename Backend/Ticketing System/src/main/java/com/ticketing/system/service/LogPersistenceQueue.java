@@ -0,0 +1,161 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.SystemLogEntry;
+import com.ticketing.system.repository.SystemLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded buffer between LoggingService and system_logs, written by one background thread.
+// Entries go to the event stream after they are saved, so dashboards get their ids for paging.
+@Component
+public class LogPersistenceQueue {
+    private static final Logger logger = LoggerFactory.getLogger(LogPersistenceQueue.class);
+
+    @Autowired
+    private SystemLogRepository logRepository;
+
+    @Autowired
+    private EventStreamService eventStream;
+
+    @Value("${ticketing.logging.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${ticketing.logging.batch-size:200}")
+    private int batchSize;
+
+    @Value("${ticketing.logging.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${ticketing.logging.overflow-policy:drop-newest}")
+    private LogOverflowPolicy overflowPolicy;
+
+    private BlockingQueue<SystemLogEntry> pending;
+    private final AtomicLong queuedCount = new AtomicLong(0);
+    private final AtomicLong flushedCount = new AtomicLong(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    @PostConstruct
+    private void start() {
+        pending = new ArrayBlockingQueue<>(queueCapacity);
+        writerThread = new Thread(this::writeLoop, "system-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void enqueue(SystemLogEntry entry) {
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> {
+                if (!pending.offer(entry)) {
+                    droppedCount.incrementAndGet();
+                    return;
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!pending.offer(entry)) {
+                    if (pending.poll() != null) {
+                        droppedCount.incrementAndGet();
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    pending.put(entry);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount.incrementAndGet();
+                    return;
+                }
+            }
+        }
+        queuedCount.incrementAndGet();
+    }
+
+    private void writeLoop() {
+        List<SystemLogEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                SystemLogEntry first = pending.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Keep collecting until the batch is full or the flush interval runs out
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    pending.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    SystemLogEntry next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        List<SystemLogEntry> remaining = new ArrayList<>(); // Shutting down, write what is left
+        pending.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            writeBatch(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+        }
+    }
+
+    private void writeBatch(List<SystemLogEntry> batch) {
+        try {
+            logRepository.saveAll(batch).forEach(eventStream::publishLog);
+            flushedCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            droppedCount.addAndGet(batch.size()); // Log entries are not worth retrying and blocking the queue for
+            logger.error("Error writing {} log entries: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flush() { // Stops the writer and waits for it to write everything still queued
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        try {
+            writerThread.join(flushIntervalMs * 2 + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            logger.warn("Stopped waiting for the log writer, {} log entries may be lost", pending.size());
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queued", queuedCount.get());
+        stats.put("flushed", flushedCount.get());
+        stats.put("dropped", droppedCount.get());
+        stats.put("pending", pending.size());
+        stats.put("overflowPolicy", overflowPolicy);
+        return stats;
+    }
+}
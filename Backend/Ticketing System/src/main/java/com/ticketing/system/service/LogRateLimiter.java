@@ -0,0 +1,60 @@
+package com.ticketing.system.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Suppresses repeats of the same log line within the interval, using a fixed-size hashed table.
+// Each slot packs a 24-bit key fingerprint and a 40-bit millisecond timestamp into one long, so checking and
+// recording a log is a single CAS with no allocation. Colliding keys evict each other, which can only let an
+// extra log line through; stale slots simply expire, so no sweeping is needed.
+@Component
+public class LogRateLimiter {
+    public static final int VENDOR = 1;
+    public static final int CUSTOMER = 2;
+    public static final int SYSTEM = 3;
+
+    private static final int TABLE_SIZE = 1 << 16; // Power of two, independent of how many actors there are
+    private static final int FINGERPRINT_SHIFT = 40;
+    private static final long TIME_MASK = (1L << FINGERPRINT_SHIFT) - 1;
+
+    private final AtomicLongArray slots = new AtomicLongArray(TABLE_SIZE);
+    private final long epoch = System.currentTimeMillis() - 1; // Keeps stored times small and non-zero
+
+    @Value("${ticketing.logging.dedup-interval-ms:2000}")
+    private long interval = 2000;
+
+    public boolean tryAcquire(int category, int actorId, String message) {
+        long hash = mix(((long) category << 32 | (actorId & 0xFFFFFFFFL)) * 31 + message.hashCode());
+        int index = (int) hash & (TABLE_SIZE - 1);
+        long fingerprint = (hash >>> FINGERPRINT_SHIFT) | 1; // Never zero, so empty slots never match
+        long now = (System.currentTimeMillis() - epoch) & TIME_MASK;
+        long updated = fingerprint << FINGERPRINT_SHIFT | now;
+
+        while (true) {
+            long current = slots.get(index);
+            if (current >>> FINGERPRINT_SHIFT == fingerprint && now - (current & TIME_MASK) < interval) {
+                return false; // Same message logged recently
+            }
+            if (slots.compareAndSet(index, current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    private static long mix(long h) { // MurmurHash3 finalizer, spreads similar keys across the table
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,91 +1,103 @@
 package com.ticketing.system.service;
 
+import com.ticketing.system.dto.LogCursor;
+import com.ticketing.system.dto.LogQuery;
 import com.ticketing.system.entity.SystemLogEntry;
 import com.ticketing.system.repository.SystemLogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Service
 public class LoggingService {
     private static final Logger logger = LoggerFactory.getLogger(LoggingService.class);
+    private static final LocalDateTime MIN_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final int EXPORT_PAGE_SIZE = 500;
 
     @Autowired
     private SystemLogRepository logRepository;
 
-    private final Map<String, Long> lastLogTimes = new ConcurrentHashMap<>();
-    private static final long LOG_INTERVAL = 2000; // 2 seconds between similar logs
+    @Autowired
+    private LogPersistenceQueue logQueue;
+
+    @Autowired
+    private LogRateLimiter rateLimiter; // Suppresses identical logs within ticketing.logging.dedup-interval-ms (2 seconds by default)
 
     public void logVendorAction(int vendorId, String message) {
-        String key = "VENDOR-" + vendorId + "-" + message;
-        if (canLog(key)) {
+        if (rateLimiter.tryAcquire(LogRateLimiter.VENDOR, vendorId, message)) {
             SystemLogEntry log = new SystemLogEntry();
             log.setEventType("VENDOR");
             log.setMessage(message);
             log.setActorId(vendorId);
             log.setTimestamp(LocalDateTime.now());
-            logRepository.save(log);
+            logQueue.enqueue(log); // Streamed to dashboards once saved
             logger.info("Vendor {}: {}", vendorId, message);
-            updateLastLogTime(key);
         }
     }
 
     public void logCustomerAction(int customerId, String message) {
-        String key = "CUSTOMER-" + customerId + "-" + message;
-        if (canLog(key)) {
+        if (rateLimiter.tryAcquire(LogRateLimiter.CUSTOMER, customerId, message)) {
             SystemLogEntry log = new SystemLogEntry();
             log.setEventType("CUSTOMER");
             log.setMessage(message);
             log.setActorId(customerId);
             log.setTimestamp(LocalDateTime.now());
-            logRepository.save(log);
+            logQueue.enqueue(log);
             logger.info("Customer {}: {}", customerId, message);
-            updateLastLogTime(key);
         }
     }
 
     public void logSystemEvent(String message) {
-        String key = "SYSTEM-" + message;
-        if (canLog(key)) {
+        if (rateLimiter.tryAcquire(LogRateLimiter.SYSTEM, 0, message)) {
             SystemLogEntry log = new SystemLogEntry();
             log.setEventType("SYSTEM");
             log.setMessage(message);
             log.setTimestamp(LocalDateTime.now());
-            logRepository.save(log);
+            logQueue.enqueue(log);
             logger.info("System Event: {}", message);
-            updateLastLogTime(key);
         }
     }
 
-    private synchronized boolean canLog(String key) {
-        long currentTime = System.currentTimeMillis();
-        Long lastLogTime = lastLogTimes.get(key);
-        return lastLogTime == null || (currentTime - lastLogTime) >= LOG_INTERVAL;
+    public List<SystemLogEntry> getRecentLogs() {
+        return logRepository.findTop100ByOrderByTimestampDesc();
     }
 
-    private void updateLastLogTime(String key) {
-        lastLogTimes.put(key, System.currentTimeMillis());
-
-        // Clean up old entries
-        long currentTime = System.currentTimeMillis();
-        lastLogTimes.entrySet().removeIf(entry ->
-                (currentTime - entry.getValue()) > LOG_INTERVAL * 10);
+    public List<SystemLogEntry> getLogsPage(LogQuery query, LogCursor cursor, int limit) {
+        // An absent cursor starts just before the end of the range, an exclusive "to" needs no id tie-break
+        LocalDateTime from = query.from() != null ? query.from() : MIN_TIMESTAMP;
+        LocalDateTime beforeTime = cursor != null ? cursor.timestamp() : query.to() != null ? query.to() : MAX_TIMESTAMP;
+        long beforeId = cursor != null ? cursor.id() : Long.MIN_VALUE;
+        if (query.eventType() != null) {
+            return logRepository.findPageByEventType(query.eventType(), query.actorId(), from, beforeTime, beforeId, Limit.of(limit));
+        }
+        return logRepository.findPage(query.actorId(), from, beforeTime, beforeId, Limit.of(limit));
     }
 
-    public List<SystemLogEntry> getRecentLogs() {
-        return logRepository.findTop100ByOrderByTimestampDesc();
+    public void forEachLog(LogQuery query, Consumer<SystemLogEntry> action) { // Walks every match page by page
+        LogCursor cursor = null;
+        while (true) {
+            List<SystemLogEntry> page = getLogsPage(query, cursor, EXPORT_PAGE_SIZE);
+            page.forEach(action);
+            if (page.size() < EXPORT_PAGE_SIZE) {
+                return;
+            }
+            SystemLogEntry last = page.get(page.size() - 1);
+            cursor = new LogCursor(last.getTimestamp(), last.getId());
+        }
     }
 
-    public List<SystemLogEntry> getLogsByType(String eventType) {
-        return logRepository.findByEventTypeOrderByTimestampDesc(eventType);
+    public Map<String, Object> getQueueStatistics() {
+        return logQueue.getStatistics();
     }
 
     public void clearOldLogs() {
-        lastLogTimes.clear();
+        rateLimiter.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.ticketing.system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-customer purchase caps; each customer's count is updated on its own, so buyers never share a lock
+@Component
+public class PurchaseLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(PurchaseLimiter.class);
+
+    @Value("${ticketing.purchase.max-per-customer:0}")
+    private int maxPerCustomer; // 0 means no limit
+
+    private final Map<Integer, AtomicInteger> purchases = new ConcurrentHashMap<>();
+
+    public int getMaxPerCustomer() {
+        return maxPerCustomer;
+    }
+
+    public boolean isLimited() {
+        return maxPerCustomer > 0;
+    }
+
+    public boolean tryAcquire(int customerId, int quantity) { // Counts the tickets before they are claimed
+        if (!isLimited()) {
+            return true;
+        }
+        AtomicInteger count = purchases.computeIfAbsent(customerId, id -> new AtomicInteger());
+        while (true) {
+            int current = count.get();
+            if (current + quantity > maxPerCustomer) {
+                return false;
+            }
+            if (count.compareAndSet(current, current + quantity)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(int customerId, int quantity) { // The claim failed, so the tickets no longer count
+        if (isLimited()) {
+            // A reset in between may have cleared the count, or started a new one that never included these tickets
+            purchases.computeIfPresent(customerId, (id, count) -> {
+                count.updateAndGet(current -> Math.max(0, current - quantity));
+                return count;
+            });
+        }
+    }
+
+    public int getPurchased(int customerId) {
+        AtomicInteger count = purchases.get(customerId);
+        return count != null ? count.get() : 0;
+    }
+
+    public void recover(List<Object[]> soldByCustomer) { // Rows of customerId, ticket count
+        purchases.clear();
+        for (Object[] row : soldByCustomer) {
+            purchases.put((Integer) row[0], new AtomicInteger(((Number) row[1]).intValue()));
+        }
+        if (isLimited()) {
+            logger.info("Purchase limit {} per customer, recovered counts for {} customers", maxPerCustomer, purchases.size());
+        }
+    }
+
+    public void reset() {
+        purchases.clear();
+    }
+}
@@ -0,0 +1,6 @@
+package com.ticketing.system.service;
+
+public enum PurchaseMode {
+    MEMORY, // TicketInventory is authoritative, the database is written behind
+    DATABASE // Every purchase claims rows with SELECT ... FOR UPDATE SKIP LOCKED
+}
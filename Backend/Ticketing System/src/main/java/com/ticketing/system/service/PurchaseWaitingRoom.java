@@ -0,0 +1,163 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.Ticket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// First come, first served queue for buyers willing to wait for tickets. Lock-free: a waiter is claimed for
+// serving or for timing out with a compare-and-set on its own state, so tickets go to exactly one of them.
+// Waiters are futures, no thread is held while they wait. A waiter asking for more tickets than are on sale keeps
+// its place without holding up smaller requests behind it.
+// One thread serves at a time; a serve() call that finds another thread serving leaves it a pass to run instead.
+@Component
+public class PurchaseWaitingRoom {
+    private static final int WAITING = 0;
+    private static final int SERVING = 1;
+    private static final int DONE = 2;
+
+    @Autowired
+    private WaitTimeStats waitTimeStats;
+
+    @Value("${ticketing.purchase.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiterCount = new AtomicInteger(0);
+    private final AtomicInteger servePasses = new AtomicInteger(0); // Passes requested, non-zero while a thread serves
+
+    // Where waiters get their tickets, implemented by TicketService
+    public interface TicketSource {
+        List<Ticket> claim(int customerId, int quantity); // All or nothing, empty when not enough are on sale
+
+        boolean canFill(int quantity); // False once enough tickets can never be on sale again
+
+        long onSale(); // Estimate of the tickets on sale, lets serving skip claims that cannot succeed
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public boolean hasWaiters() {
+        return waiterCount.get() > 0;
+    }
+
+    public int getWaiterCount() {
+        return waiterCount.get();
+    }
+
+    // Completes with the tickets, or an empty list if they did not arrive in time or can no longer arrive
+    public CompletableFuture<List<Ticket>> join(int customerId, int quantity, long waitMs, TicketSource source) {
+        Waiter waiter = new Waiter(customerId, quantity);
+        waiterCount.incrementAndGet();
+        waiters.offer(waiter);
+        CompletableFuture.delayedExecutor(Math.min(waitMs, maxWaitMs), TimeUnit.MILLISECONDS).execute(waiter::expire);
+        serve(source); // Tickets may have arrived before the waiter was queued
+        return waiter.tickets;
+    }
+
+    public void serve(TicketSource source) { // Call after tickets go on sale, or when they sell out
+        if (servePasses.getAndIncrement() != 0) {
+            return; // The serving thread runs another pass for us
+        }
+        int passes = 1;
+        try {
+            do {
+                servePass(source);
+                passes = servePasses.addAndGet(-passes);
+            } while (passes != 0);
+        } catch (RuntimeException e) {
+            servePasses.set(0); // Lets the next serve() call take over
+            throw e;
+        }
+    }
+
+    private void servePass(TicketSource source) { // Serves, in arrival order, every waiter that current stock can fill
+        Iterator<Waiter> queue = waiters.iterator();
+        while (queue.hasNext()) {
+            Waiter waiter = queue.next();
+            if (waiter.state.get() == DONE) {
+                queue.remove(); // Timed out
+                continue;
+            }
+            if (!source.canFill(waiter.quantity)) {
+                if (waiter.state.compareAndSet(WAITING, DONE)) {
+                    remove(queue);
+                    waiter.tickets.complete(List.of()); // Sold out for this quantity, later waiters may still fit
+                }
+                continue;
+            }
+            long onSale = source.onSale();
+            if (onSale <= 0) {
+                return;
+            }
+            if (waiter.quantity > onSale || !waiter.state.compareAndSet(WAITING, SERVING)) {
+                continue; // Keeps its place until enough tickets are on sale
+            }
+            List<Ticket> tickets;
+            try {
+                tickets = source.claim(waiter.customerId, waiter.quantity);
+            } catch (RuntimeException e) {
+                waiter.returnToWaiting(queue);
+                throw e;
+            }
+            if (tickets.isEmpty()) {
+                waiter.returnToWaiting(queue);
+                return; // Stock ran out under us, the next serve() call picks up from here
+            }
+            waiter.state.set(DONE);
+            remove(queue);
+            waitTimeStats.record(waiter.customerId, System.nanoTime() - waiter.joinedNanos);
+            waiter.tickets.complete(tickets);
+        }
+    }
+
+    private void remove(Iterator<Waiter> queue) {
+        queue.remove();
+        waiterCount.decrementAndGet();
+    }
+
+    private class Waiter {
+        final int customerId;
+        final int quantity;
+        final long joinedNanos = System.nanoTime();
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        final CompletableFuture<List<Ticket>> tickets = new CompletableFuture<>();
+        volatile boolean expired = false;
+
+        Waiter(int customerId, int quantity) {
+            this.customerId = customerId;
+            this.quantity = quantity;
+        }
+
+        void expire() { // While it is being served, the server finishes it instead
+            expired = true;
+            leave();
+        }
+
+        void returnToWaiting(Iterator<Waiter> queue) { // Caller is serving it and got no tickets
+            state.set(WAITING);
+            if (expired && state.compareAndSet(WAITING, DONE)) { // Timed out while being served
+                remove(queue);
+                tickets.complete(List.of());
+            }
+        }
+
+        private void leave() {
+            if (state.compareAndSet(WAITING, DONE)) { // Whoever moves a waiter to DONE counts it out
+                waiterCount.decrementAndGet();
+                waiters.remove(this);
+                tickets.complete(List.of());
+            }
+        }
+    }
+}
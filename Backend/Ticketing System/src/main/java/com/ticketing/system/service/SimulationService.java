@@ -0,0 +1,232 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.ArrivalMode;
+import com.ticketing.system.entity.SystemConfiguration;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Runs simulated vendors and customers inside the server, calling TicketService directly.
+// A small timer pool fires each actor at its configured rate and hands the call to a virtual thread,
+// so an actor costs a scheduled task rather than a platform thread or an HTTP request.
+// Each actor reschedules itself from an ArrivalPacer, which supplies sub-second, jittered and Poisson spacing.
+@Service
+public class SimulationService {
+    private static final Logger logger = LoggerFactory.getLogger(SimulationService.class);
+    private static final long MIN_TICK_NANOS = 1_000_000; // Faster rates are served in batches per tick
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ConfigurationService configService;
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ScheduledExecutorService timer;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock lock = new ReentrantLock(); // Guards the actor lists and running flag
+
+    private final List<Actor> vendors = new ArrayList<>();
+    private final List<Actor> customers = new ArrayList<>();
+    private final AtomicLong ticketsAdded = new AtomicLong(0);
+    private final AtomicLong ticketsPurchased = new AtomicLong(0);
+    private boolean running = false;
+
+    @PostConstruct
+    private void init() {
+        // Timer threads follow the application's virtual-thread mode, calls always run on virtual threads
+        ThreadFactory timerThreads = virtualThreads
+                ? Thread.ofVirtual().name("simulation-timer-", 1).factory()
+                : Thread.ofPlatform().name("simulation-timer-", 1).daemon().factory();
+        timer = Executors.newScheduledThreadPool(2, timerThreads);
+    }
+
+    public void start(int vendorCount, int customerCount) {
+        lock.lock();
+        try {
+            if (running) {
+                throw new IllegalStateException("Simulation is already running");
+            }
+            if (configService.getActiveConfiguration() == null) {
+                throw new IllegalStateException("No active configuration found. Please configure the system.");
+            }
+            running = true;
+            scale(vendorCount, customerCount);
+            loggingService.logSystemEvent("Simulation started with " + vendorCount + " vendors and " + customerCount + " customers");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void scale(int vendorCount, int customerCount) {
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Simulation is not running");
+            }
+            scale(vendorCount, customerCount, configService.getActiveConfiguration());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scale(int vendorCount, int customerCount, SystemConfiguration config) { // Caller holds the lock
+        resize(vendors, vendorCount, true, config.getEffectiveReleaseRate(), config.getArrivalMode());
+        resize(customers, customerCount, false, config.getEffectiveRetrievalRate(), config.getArrivalMode());
+        logger.info("Simulation scaled to {} vendors and {} customers", vendors.size(), customers.size());
+    }
+
+    public void stop() {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            resize(vendors, 0, true, 0, null);
+            resize(customers, 0, false, 0, null);
+            running = false;
+            loggingService.logSystemEvent("Simulation stopped");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            // Reschedule every actor at the new rates. Taken from the event: the configuration cache is refreshed
+            // by another listener of the same event, which may not have run yet.
+            int vendorCount = vendors.size();
+            int customerCount = customers.size();
+            resize(vendors, 0, true, 0, null);
+            resize(customers, 0, false, 0, null);
+            scale(vendorCount, customerCount, event.getConfiguration());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        lock.lock();
+        try {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("running", running);
+            status.put("vendors", vendors.size());
+            status.put("customers", customers.size());
+            status.put("ticketsAdded", ticketsAdded.get());
+            status.put("ticketsPurchased", ticketsPurchased.get());
+            return status;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resize(List<Actor> actors, int count, boolean vendor, double ratePerSecond, ArrivalMode mode) {
+        while (actors.size() > count) {
+            actors.remove(actors.size() - 1).cancel();
+        }
+        while (actors.size() < count) {
+            Actor actor = new Actor(actors.size() + 1, vendor, new ArrivalPacer(ratePerSecond, mode));
+            // Random start offsets spread the actors over the interval instead of firing them all at once
+            long interval = Math.max(1, actor.pacer.getMeanIntervalNanos());
+            actor.schedule(ThreadLocalRandom.current().nextLong(interval));
+            actors.add(actor);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+        timer.shutdownNow();
+        workers.shutdown();
+    }
+
+    private class Actor {
+        private final int id;
+        private final boolean vendor;
+        private final ArrivalPacer pacer; // Used by one tick or call at a time, each hands over to the next
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled = false;
+
+        Actor(int id, boolean vendor, ArrivalPacer pacer) {
+            this.id = id;
+            this.vendor = vendor;
+            this.pacer = pacer;
+        }
+
+        void schedule(long delayNanos) {
+            future = timer.schedule(this::tick, delayNanos, TimeUnit.NANOSECONDS);
+            if (cancelled) {
+                future.cancel(false); // cancel() ran while this tick was rescheduling
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            future.cancel(false);
+        }
+
+        private void tick() {
+            if (cancelled) {
+                return;
+            }
+            int due = pacer.acquire(System.nanoTime());
+            if (due > 0) {
+                workers.execute(() -> act(due)); // Schedules the next tick when it finishes
+            } else {
+                scheduleNext();
+            }
+        }
+
+        private void scheduleNext() { // Arrivals that fell due during a slow call accrue as tokens for the next tick
+            if (cancelled) {
+                return;
+            }
+            schedule(Math.max(MIN_TICK_NANOS, pacer.nanosUntilNext(System.nanoTime())));
+        }
+
+        private void act(int due) {
+            try {
+                if (vendor) {
+                    int added = due == 1
+                            ? (ticketService.addTicket(id) != null ? 1 : 0)
+                            : ticketService.addTickets(id, due).size();
+                    ticketsAdded.addAndGet(added);
+                } else {
+                    for (int i = 0; i < due; i++) {
+                        if (ticketService.purchaseTicket(id) == null) {
+                            break; // Sold out for now, the rest of this batch would fail too
+                        }
+                        ticketsPurchased.incrementAndGet();
+                    }
+                }
+            } catch (Exception e) {
+                logger.error("Simulated {}-{} failed: {}", vendor ? "Vendor" : "Customer", id, e.getMessage());
+            } finally {
+                scheduleNext();
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.TicketStatus;
+import com.ticketing.system.entity.SystemConfiguration;
+import com.ticketing.system.entity.Ticket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Authoritative in-memory ticket state; the database is brought up to date by TicketPersistenceQueue
+@Component
+public class TicketInventory {
+    private static final Logger logger = LoggerFactory.getLogger(TicketInventory.class);
+
+    private final Queue<Ticket> availableTickets = new ConcurrentLinkedQueue<>(); // FIFO, oldest ticket sold first
+    private final AtomicInteger availableCount = new AtomicInteger(0); // Pool slots in use, including tickets being released
+    private final AtomicLong issuedCount = new AtomicLong(0); // Tickets released since startup or the last reset
+    private final AtomicLong lastTicketNumber = new AtomicLong(0); // Never reset, so ticket numbers stay unique
+    private final AtomicLong soldCount = new AtomicLong(0);
+    private final AtomicInteger onSaleCount = new AtomicInteger(0); // Tickets in the queue not yet claimed by a buyer
+    private volatile SystemConfiguration configuration; // Cached active configuration
+
+    public void recover(List<Ticket> available, long issued, long sold, SystemConfiguration config) {
+        availableTickets.clear();
+        availableTickets.addAll(available);
+        availableCount.set(available.size());
+        onSaleCount.set(available.size());
+        issuedCount.set(issued);
+        soldCount.set(sold);
+        configuration = config;
+        logger.info("Recovered inventory: {} issued, {} available, {} sold", issued, available.size(), sold);
+    }
+
+    public void recover(long available, long issued, long sold, SystemConfiguration config) { // Counters only, tickets stay in the database
+        recover(List.of(), issued, sold, config);
+        availableCount.set((int) available);
+    }
+
+    public void seedTicketNumbers(long highestStored) { // Numbering continues after the highest ticket_no in the table
+        lastTicketNumber.accumulateAndGet(highestStored, Math::max);
+    }
+
+    public SystemConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public void setConfiguration(SystemConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public boolean tryReserveSlot(int maxCapacity) { // Claims room in the pool for one ticket
+        while (true) {
+            int current = availableCount.get();
+            if (current >= maxCapacity) {
+                return false;
+            }
+            if (availableCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public int tryReserveSlots(int requested, int maxCapacity) { // Returns how many slots were claimed, possibly 0
+        while (true) {
+            int current = availableCount.get();
+            int granted = Math.min(requested, maxCapacity - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (availableCount.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    public void releaseSlot() {
+        availableCount.decrementAndGet();
+    }
+
+    public void releaseSlots(int count) {
+        availableCount.addAndGet(-count);
+    }
+
+    public long tryIssueTicketNumber(int totalTickets) { // Returns the next ticket number, or -1 once the total is reached
+        while (true) {
+            long current = issuedCount.get();
+            if (current >= totalTickets) {
+                return -1;
+            }
+            if (issuedCount.compareAndSet(current, current + 1)) {
+                return lastTicketNumber.incrementAndGet();
+            }
+        }
+    }
+
+    public TicketNumberRange tryIssueTicketNumbers(int requested, int totalTickets) { // Empty range once the total is reached
+        while (true) {
+            long current = issuedCount.get();
+            int granted = (int) Math.min(requested, totalTickets - current);
+            if (granted <= 0) {
+                return new TicketNumberRange(current + 1, 0);
+            }
+            if (issuedCount.compareAndSet(current, current + granted)) {
+                return new TicketNumberRange(lastTicketNumber.getAndAdd(granted) + 1, granted);
+            }
+        }
+    }
+
+    public void returnIssued(int count) { // For tickets that were never stored; their numbers stay used, so they stay unique
+        issuedCount.updateAndGet(issued -> Math.max(0, issued - count)); // A reset may have run since they were issued
+    }
+
+    public void release(Ticket ticket) { // Caller must hold a reserved slot
+        availableTickets.offer(ticket);
+        onSaleCount.incrementAndGet(); // Counted only once polling it is guaranteed to succeed
+    }
+
+    public Ticket claim() {
+        List<Ticket> tickets = claim(1);
+        return tickets.isEmpty() ? null : tickets.get(0);
+    }
+
+    public List<Ticket> claim(int quantity) { // All or nothing: either quantity tickets or an empty list
+        while (true) {
+            int current = onSaleCount.get();
+            if (current < quantity) {
+                return List.of();
+            }
+            if (onSaleCount.compareAndSet(current, current - quantity)) {
+                break;
+            }
+        }
+        List<Ticket> tickets = new ArrayList<>(quantity);
+        for (int i = 0; i < quantity; i++) {
+            tickets.add(availableTickets.poll()); // Never null, the reservation above covers it
+        }
+        availableCount.addAndGet(-quantity);
+        soldCount.addAndGet(quantity);
+        return tickets;
+    }
+
+    public void recordSale(int quantity) { // For tickets claimed outside the in-memory queue
+        availableCount.addAndGet(-quantity);
+        soldCount.addAndGet(quantity);
+    }
+
+    public TicketStatus getStatus() { // Built from counters only, no database access
+        SystemConfiguration config = configuration;
+        long issued = issuedCount.get();
+        long remaining = config != null ? Math.max(0, config.getTotalTickets() - issued) : 0;
+        return new TicketStatus(availableCount.get(), issued, remaining, soldCount.get());
+    }
+
+    public List<Ticket> getAvailableTickets() {
+        return new ArrayList<>(availableTickets);
+    }
+
+    public long getAvailableCount() {
+        return availableCount.get();
+    }
+
+    public long getIssuedCount() {
+        return issuedCount.get();
+    }
+
+    public long getSoldCount() {
+        return soldCount.get();
+    }
+
+    public void resetIssuedCount() { // Restarts the total limit, ticket numbers carry on
+        issuedCount.set(0);
+    }
+
+    public record TicketNumberRange(long first, int count) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.Ticket;
+import com.ticketing.system.repository.TicketRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Write-behind path for ticket changes made in TicketInventory. The queue holds snapshots, so the writer never
+// shares an entity with request threads.
+@Component
+public class TicketPersistenceQueue {
+    private static final Logger logger = LoggerFactory.getLogger(TicketPersistenceQueue.class);
+    private static final Logger deadLetterLogger = LoggerFactory.getLogger("com.ticketing.system.ticket-dead-letter");
+    private static final int MAX_BATCH_SIZE = 500;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Value("${ticketing.persistence.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${ticketing.persistence.max-attempts:5}")
+    private int maxAttempts; // Batch attempts before its tickets are written one at a time
+
+    @Value("${ticketing.persistence.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    @Value("${ticketing.persistence.shutdown-wait-ms:30000}")
+    private long shutdownWaitMs; // How long shutdown waits for the writer to write what is left
+
+    private BlockingQueue<Ticket> pending;
+    private final AtomicInteger pendingCount = new AtomicInteger(0); // Queued plus in the current batch
+    private final AtomicLong deadLetterCount = new AtomicLong(0);
+    // Owned by the writer thread, which also writes what is left at shutdown
+    private final Map<Long, Ticket> batch = new LinkedHashMap<>(); // By ticket number, latest state wins
+    private int batchEntries = 0; // Snapshots merged into batch
+    private final Map<Long, Long> rowIds = new HashMap<>(); // Ticket number to row id, for written tickets not yet sold
+    private volatile boolean running = true;
+    private Thread writerThread;
+
+    @PostConstruct
+    private void start() {
+        pending = new LinkedBlockingQueue<>(maxPending);
+        writerThread = new Thread(this::writeLoop, "ticket-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void enqueue(Ticket ticket) { // Call after every change so the latest state is written
+        pendingCount.incrementAndGet();
+        try {
+            pending.put(ticket.snapshot()); // Blocks when the database falls too far behind instead of growing without bound
+        } catch (InterruptedException e) {
+            pendingCount.decrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing ticket " + ticket.getTicketNumber(), e);
+        }
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public long getDeadLetterCount() { // Ticket changes given up on, see the ticket-dead-letter log
+        return deadLetterCount.get();
+    }
+
+    private void writeLoop() {
+        int attempts = 0;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    Ticket first = pending.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    addToBatch(first);
+                }
+                List<Ticket> drained = new ArrayList<>();
+                pending.drainTo(drained, MAX_BATCH_SIZE - batchEntries);
+                drained.forEach(this::addToBatch);
+                if (writeBatch(batch.values())) {
+                    completeBatch();
+                    attempts = 0;
+                } else if (++attempts >= maxAttempts) {
+                    writeEach(batch.values()); // Isolates the tickets that keep failing
+                    completeBatch();
+                    attempts = 0;
+                } else {
+                    Thread.sleep(retryDelayMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        writeRemaining();
+    }
+
+    private void writeRemaining() { // Shutting down: everything queued, written once, no more retries
+        List<Ticket> remaining = new ArrayList<>();
+        pending.drainTo(remaining);
+        remaining.forEach(this::addToBatch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        int count = batch.size();
+        if (!writeBatch(batch.values())) {
+            writeEach(batch.values());
+        }
+        completeBatch();
+        logger.info("Flushed {} pending ticket writes", count);
+    }
+
+    private void addToBatch(Ticket ticket) {
+        if (ticket.getId() != null) {
+            rowIds.put(ticket.getTicketNo(), ticket.getId()); // Recovered or batch-inserted, the row already exists
+        }
+        batch.put(ticket.getTicketNo(), ticket);
+        batchEntries++;
+    }
+
+    private void completeBatch() {
+        pendingCount.addAndGet(-batchEntries);
+        batch.clear();
+        batchEntries = 0;
+    }
+
+    private boolean writeBatch(Collection<Ticket> tickets) {
+        tickets.forEach(this::assignRowId);
+        try {
+            ticketRepository.saveAll(tickets).forEach(this::written);
+            return true;
+        } catch (Exception e) {
+            logger.error("Error writing {} tickets, will retry: {}", tickets.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeEach(Collection<Ticket> tickets) {
+        for (Ticket ticket : tickets) {
+            assignRowId(ticket);
+            try {
+                written(ticketRepository.save(ticket));
+            } catch (Exception e) {
+                deadLetter(ticket, e);
+            }
+        }
+    }
+
+    private void assignRowId(Ticket ticket) {
+        // A rolled-back insert leaves its generated id on the snapshot; reusing it would merge a row that doesn't exist
+        ticket.setId(rowIds.get(ticket.getTicketNo()));
+    }
+
+    private void written(Ticket ticket) {
+        if (ticket.isAvailable()) {
+            rowIds.put(ticket.getTicketNo(), ticket.getId()); // Its sale will update this row
+        } else {
+            rowIds.remove(ticket.getTicketNo()); // Sold tickets don't change again
+        }
+    }
+
+    private void deadLetter(Ticket ticket, Exception e) {
+        deadLetterCount.incrementAndGet();
+        rowIds.remove(ticket.getTicketNo());
+        deadLetterLogger.error("Giving up on ticket write: ticketNo={} available={} vendorId={} customerId={} createdAt={}: {}",
+                ticket.getTicketNo(), ticket.isAvailable(), ticket.getVendorId(), ticket.getCustomerId(),
+                ticket.getCreatedAt(), e.getMessage());
+    }
+
+    @PreDestroy
+    public void flush() { // Stops the writer and waits for it to write everything still queued
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        try {
+            writerThread.join(shutdownWaitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            logger.warn("Stopped waiting for the ticket writer, {} ticket writes may be lost", pendingCount.get());
+        }
+    }
+}
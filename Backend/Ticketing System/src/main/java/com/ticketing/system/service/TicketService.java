@@ -1,17 +1,24 @@
 package com.ticketing.system.service;
 
+import com.ticketing.system.dto.PurchaseResult;
+import com.ticketing.system.dto.TicketStatus;
 import com.ticketing.system.entity.Ticket;
 import com.ticketing.system.entity.SystemConfiguration;
 import com.ticketing.system.repository.TicketRepository;
-import com.ticketing.system.repository.SystemConfigurationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class TicketService {
@@ -21,54 +28,98 @@ public class TicketService {
     private TicketRepository ticketRepository;
 
     @Autowired
-    private SystemConfigurationRepository configRepository;
+    private ConfigurationService configService;
 
     @Autowired
     private LoggingService loggingService;
 
-    private final AtomicLong ticketCounter = new AtomicLong(0);
-    private boolean hasLoggedTotalLimit = false;
-    private boolean hasLoggedCapacityLimit = false;
-    private boolean hasLoggedNoTickets = false;
+    @Autowired
+    private TicketInventory inventory;
+
+    @Autowired
+    private TicketPersistenceQueue persistenceQueue;
+
+    @Autowired
+    private DatabaseTicketClaimer databaseClaimer;
+
+    @Autowired
+    private PurchaseLimiter purchaseLimiter;
+
+    @Autowired
+    private PurchaseWaitingRoom waitingRoom;
+
+    @Autowired
+    private WaitTimeStats waitTimeStats;
+
+    @Value("${ticketing.purchase.mode:memory}")
+    private PurchaseMode purchaseMode;
+
+    private volatile boolean hasLoggedTotalLimit = false;
+    private volatile boolean hasLoggedCapacityLimit = false;
+    private volatile boolean hasLoggedNoTickets = false;
+    private final ReentrantLock resetLock = new ReentrantLock();
+    private final PurchaseWaitingRoom.TicketSource waitingRoomSource = new PurchaseWaitingRoom.TicketSource() {
+        @Override
+        public List<Ticket> claim(int customerId, int quantity) { // The waiter already holds its purchase limit slots
+            return claimTickets(customerId, quantity);
+        }
+
+        @Override
+        public boolean canFill(int quantity) {
+            return TicketService.this.canFill(quantity);
+        }
+
+        @Override
+        public long onSale() {
+            return inventory.getAvailableCount();
+        }
+    };
 
     @PostConstruct
-    private synchronized void init() {
+    private void init() {
         try {
-            // Initialize counter based on actual database state
-            long count = ticketRepository.count();
-            ticketCounter.set(count);
-            logger.info("Initialized ticket counter to: {}", count);
+            // Rebuild the in-memory inventory from the tickets table
+            long issued = ticketRepository.count();
+            long sold = ticketRepository.countByAvailable(false);
+            SystemConfiguration config = configService.getActiveConfiguration();
+            if (purchaseMode == PurchaseMode.DATABASE) {
+                inventory.recover(issued - sold, issued, sold, config);
+            } else {
+                inventory.recover(ticketRepository.findByAvailableOrderByTicketNoAsc(true), issued, sold, config);
+            }
+            inventory.seedTicketNumbers(ticketRepository.findTopByOrderByTicketNoDesc().map(Ticket::getTicketNo).orElse(0L));
+            purchaseLimiter.recover(ticketRepository.countSoldByCustomer());
+            logger.info("Purchase mode: {}", purchaseMode);
         } catch (Exception e) {
-            logger.error("Error initializing ticket counter: {}", e.getMessage());
-            ticketCounter.set(0);
+            logger.error("Error recovering ticket inventory: {}", e.getMessage());
+            inventory.recover(List.of(), 0, 0, null);
         }
     }
 
-    @Transactional(rollbackFor = Exception.class)
-    public synchronized Ticket addTicket(int vendorId) {
+    @TransactionalEventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        inventory.setConfiguration(event.getConfiguration());
+        hasLoggedTotalLimit = false;
+        hasLoggedCapacityLimit = false;
+    }
+
+    public Ticket addTicket(int vendorId) {
         try {
-            SystemConfiguration config = configRepository.findByActive(true);
+            SystemConfiguration config = inventory.getConfiguration();
             if (config == null) {
                 logger.error("No active configuration found");
                 loggingService.logSystemEvent("No active configuration found. Please configure the system.");
                 return null;
             }
 
-            // Get current state atomically
-            long currentTotal = ticketCounter.get();
-            long availableCount = ticketRepository.countByAvailable(true);
-
             // Check total limit
-            if (currentTotal >= config.getTotalTickets()) {
-                if (!hasLoggedTotalLimit) {
-                    loggingService.logSystemEvent("Total ticket limit reached (" + config.getTotalTickets() + " tickets)");
-                    hasLoggedTotalLimit = true;
-                }
+            if (inventory.getIssuedCount() >= config.getTotalTickets()) {
+                logTotalLimitReached(config);
                 return null;
             }
 
             // Check capacity
-            if (availableCount >= config.getMaxTicketCapacity()) {
+            if (!inventory.tryReserveSlot(config.getMaxTicketCapacity())) {
                 if (!hasLoggedCapacityLimit) {
                     loggingService.logSystemEvent("Maximum capacity reached (" + config.getMaxTicketCapacity() + " tickets)");
                     hasLoggedCapacityLimit = true;
@@ -76,25 +127,40 @@ public class TicketService {
                 return null;
             }
 
-            // Increment counter and create ticket
-            long newTicketNumber = ticketCounter.incrementAndGet();
-            if (newTicketNumber > config.getTotalTickets()) {
-                ticketCounter.decrementAndGet(); // Roll back the increment
+            long newTicketNumber = inventory.tryIssueTicketNumber(config.getTotalTickets());
+            if (newTicketNumber < 0) {
+                inventory.releaseSlot(); // Another vendor took the last ticket number
+                logTotalLimitReached(config);
                 return null;
             }
 
             Ticket ticket = new Ticket();
-            ticket.setTicketNumber("Ticket-" + newTicketNumber);
+            ticket.setTicketNo(newTicketNumber);
             ticket.setAvailable(true);
             ticket.setVendorId(vendorId);
+            ticket.setCreatedAt(LocalDateTime.now());
 
-            Ticket savedTicket = ticketRepository.save(ticket);
-            loggingService.logVendorAction(vendorId, "Added ticket: " + savedTicket.getTicketNumber());
+            try {
+                if (purchaseMode == PurchaseMode.DATABASE) {
+                    ticket = ticketRepository.save(ticket); // Must be stored before buyers can lock it
+                } else {
+                    persistenceQueue.enqueue(ticket); // Queued before it goes on sale, so its sale is written after it
+                }
+            } catch (Exception e) {
+                inventory.releaseSlot();
+                inventory.returnIssued(1); // Counts toward the total limit only once stored
+                throw e;
+            }
+            if (purchaseMode == PurchaseMode.MEMORY) {
+                inventory.release(ticket);
+            }
+            loggingService.logVendorAction(vendorId, "Added ticket: " + ticket.getTicketNumber());
+            waitingRoom.serve(waitingRoomSource);
 
             hasLoggedTotalLimit = false;
             hasLoggedCapacityLimit = false;
 
-            return savedTicket;
+            return ticket.snapshot(); // Buyers change the inventory's copy once it is on sale
 
         } catch (Exception e) {
             String errorMsg = "Error adding ticket for vendor " + vendorId + ": " + e.getMessage();
@@ -104,64 +170,243 @@ public class TicketService {
         }
     }
 
-    @Transactional(rollbackFor = Exception.class)
-    public synchronized Ticket purchaseTicket(int customerId) {
-        try {
-            List<Ticket> availableTickets = ticketRepository.findFirstAvailableTicket();
+    public List<Ticket> addTickets(int vendorId, int count) {
+        SystemConfiguration config = inventory.getConfiguration();
+        if (config == null) {
+            logger.error("No active configuration found");
+            loggingService.logSystemEvent("No active configuration found. Please configure the system.");
+            return List.of();
+        }
 
-            if (availableTickets.isEmpty()) {
-                if (!hasLoggedNoTickets) {
-                    loggingService.logSystemEvent("No tickets available for purchase");
-                    hasLoggedNoTickets = true;
-                }
-                return null;
+        int slots = inventory.tryReserveSlots(count, config.getMaxTicketCapacity());
+        if (slots == 0) {
+            if (!hasLoggedCapacityLimit) {
+                loggingService.logSystemEvent("Maximum capacity reached (" + config.getMaxTicketCapacity() + " tickets)");
+                hasLoggedCapacityLimit = true;
             }
+            return List.of();
+        }
 
-            hasLoggedNoTickets = false;
-
-            Ticket ticket = availableTickets.get(0);
-            ticket.setAvailable(false);
-            ticket.setCustomerId(customerId);
+        TicketInventory.TicketNumberRange range = inventory.tryIssueTicketNumbers(slots, config.getTotalTickets());
+        if (range.count() < slots) {
+            inventory.releaseSlots(slots - range.count()); // Total limit cut the batch short
+        }
+        if (range.count() == 0) {
+            logTotalLimitReached(config);
+            return List.of();
+        }
 
-            Ticket purchasedTicket = ticketRepository.save(ticket);
-            loggingService.logCustomerAction(customerId, "Purchased " + ticket.getTicketNumber());
+        LocalDateTime now = LocalDateTime.now();
+        List<Ticket> tickets = new ArrayList<>(range.count());
+        for (int i = 0; i < range.count(); i++) {
+            Ticket ticket = new Ticket();
+            ticket.setTicketNo(range.first() + i);
+            ticket.setAvailable(true);
+            ticket.setVendorId(vendorId);
+            ticket.setCreatedAt(now);
+            tickets.add(ticket);
+        }
 
-            long remainingAvailable = ticketRepository.countByAvailable(true);
-            if (remainingAvailable == 0) {
-                loggingService.logSystemEvent("All tickets have been sold");
+        try {
+            // One transaction, sent in JDBC batches; tickets go on sale only once they are stored
+            List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
+            List<Ticket> result = savedTickets.stream().map(Ticket::snapshot).toList();
+            if (purchaseMode == PurchaseMode.MEMORY) {
+                savedTickets.forEach(inventory::release);
             }
+            waitingRoom.serve(waitingRoomSource);
+            loggingService.logVendorAction(vendorId, "Added " + savedTickets.size() + " tickets: "
+                    + savedTickets.get(0).getTicketNumber() + " to " + savedTickets.get(savedTickets.size() - 1).getTicketNumber());
 
-            return purchasedTicket;
+            hasLoggedTotalLimit = false;
+            hasLoggedCapacityLimit = false;
 
+            return result;
         } catch (Exception e) {
-            String errorMsg = "Error purchasing ticket for customer " + customerId + ": " + e.getMessage();
+            inventory.releaseSlots(range.count());
+            inventory.returnIssued(range.count()); // Counts toward the total limit only once stored
+            String errorMsg = "Error adding tickets for vendor " + vendorId + ": " + e.getMessage();
             logger.error(errorMsg, e);
             loggingService.logSystemEvent("Error: " + errorMsg);
             throw new RuntimeException(errorMsg);
         }
     }
 
-    public long getAvailableTicketCount() {
+    private void logTotalLimitReached(SystemConfiguration config) {
+        if (!hasLoggedTotalLimit) {
+            loggingService.logSystemEvent("Total ticket limit reached (" + config.getTotalTickets() + " tickets)");
+            hasLoggedTotalLimit = true;
+        }
+    }
+
+    public Ticket purchaseTicket(int customerId) {
+        List<Ticket> tickets = purchase(customerId, 1, 0).join().tickets(); // Already complete, nothing to wait for
+        return tickets.isEmpty() ? null : tickets.get(0);
+    }
+
+    public List<Ticket> purchaseTickets(int customerId, int quantity) {
+        return purchase(customerId, quantity, 0).join().tickets();
+    }
+
+    // All or nothing. When not enough tickets are free the buyer waits up to maxWaitMs in the first come, first
+    // served waiting room; the future completes once it is served or gives up, no thread is held meanwhile.
+    public CompletableFuture<PurchaseResult> purchase(int customerId, int quantity, long maxWaitMs) {
+        if (!purchaseLimiter.tryAcquire(customerId, quantity)) {
+            if (quantity > 1) {
+                loggingService.logCustomerAction(customerId, "Could not purchase " + quantity + " tickets, purchase limit of "
+                        + purchaseLimiter.getMaxPerCustomer() + " tickets reached");
+            } else {
+                loggingService.logCustomerAction(customerId, "Purchase limit of " + purchaseLimiter.getMaxPerCustomer() + " tickets reached");
+            }
+            return CompletableFuture.completedFuture(PurchaseResult.limitReached());
+        }
         try {
-            return ticketRepository.countByAvailable(true);
+            if (waitingRoom.hasWaiters()) {
+                waitingRoom.serve(waitingRoomSource); // Buyers already waiting go first, as far as the stock fits them
+            }
+            List<Ticket> tickets = claimTickets(customerId, quantity);
+            if (tickets.isEmpty() && maxWaitMs > 0 && canFill(quantity)) {
+                return waitingRoom.join(customerId, quantity, maxWaitMs, waitingRoomSource)
+                        .thenApply(waited -> completePurchase(customerId, quantity, waited));
+            }
+            return CompletableFuture.completedFuture(completePurchase(customerId, quantity, tickets));
         } catch (Exception e) {
-            logger.error("Error getting available ticket count: {}", e.getMessage());
-            return 0;
+            purchaseLimiter.release(customerId, quantity);
+            String errorMsg = "Error purchasing tickets for customer " + customerId + ": " + e.getMessage();
+            logger.error(errorMsg, e);
+            loggingService.logSystemEvent("Error: " + errorMsg);
+            throw new RuntimeException(errorMsg);
         }
     }
 
-    public long getTotalTicketCount() {
+    private PurchaseResult completePurchase(int customerId, int quantity, List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            purchaseLimiter.release(customerId, quantity); // The tickets no longer count toward the limit
+            if (quantity > 1) {
+                loggingService.logCustomerAction(customerId, "Could not purchase " + quantity + " tickets, not enough available");
+            } else if (!hasLoggedNoTickets) {
+                loggingService.logSystemEvent("No tickets available for purchase");
+                hasLoggedNoTickets = true;
+            }
+            return PurchaseResult.unavailable();
+        }
+
+        hasLoggedNoTickets = false;
+        if (quantity > 1) {
+            loggingService.logCustomerAction(customerId, "Purchased " + quantity + " tickets: "
+                    + tickets.get(0).getTicketNumber() + " to " + tickets.get(quantity - 1).getTicketNumber());
+        } else {
+            loggingService.logCustomerAction(customerId, "Purchased " + tickets.get(0).getTicketNumber());
+        }
+        soldTickets();
+        return PurchaseResult.purchased(tickets);
+    }
+
+    private void soldTickets() { // After every purchase
+        if (inventory.getAvailableCount() == 0) {
+            loggingService.logSystemEvent("All tickets have been sold");
+            if (!canFill(1)) {
+                waitingRoom.serve(waitingRoomSource); // Sends everyone still waiting away empty-handed
+            }
+        }
+    }
+
+    private boolean canFill(int quantity) { // False once quantity tickets can never be on sale at the same time
+        SystemConfiguration config = inventory.getConfiguration();
+        if (config == null) {
+            return true; // Tickets can't be released yet, but may be once the system is configured
+        }
+        if (quantity > config.getMaxTicketCapacity()) {
+            return false;
+        }
+        return inventory.getIssuedCount() < config.getTotalTickets() || inventory.getAvailableCount() >= quantity;
+    }
+
+    public int getMaxTicketsPerCustomer() {
+        return purchaseLimiter.getMaxPerCustomer();
+    }
+
+    public Map<String, Object> getWaitTimes(Integer customerId) { // Null when the customer never waited
+        if (customerId != null) {
+            return waitTimeStats.getCustomerSummary(customerId);
+        }
+        Map<String, Object> summary = waitTimeStats.getSummary();
+        summary.put("waiting", waitingRoom.getWaiterCount());
+        return summary;
+    }
+
+    private List<Ticket> claimTickets(int customerId, int quantity) { // Returns the tickets already marked as sold
+        if (purchaseMode == PurchaseMode.DATABASE) {
+            List<Ticket> tickets = databaseClaimer.claim(customerId, quantity);
+            if (!tickets.isEmpty()) {
+                inventory.recordSale(tickets.size());
+            }
+            return tickets;
+        }
+
+        List<Ticket> tickets = inventory.claim(quantity);
+        for (Ticket ticket : tickets) {
+            ticket.setAvailable(false);
+            ticket.setCustomerId(customerId);
+            persistenceQueue.enqueue(ticket);
+        }
+        return tickets;
+    }
+
+    public TicketStatus getTicketStatus() {
+        return inventory.getStatus();
+    }
+
+    @Scheduled(initialDelayString = "${ticketing.status.reconcile-interval-ms:60000}",
+            fixedDelayString = "${ticketing.status.reconcile-interval-ms:60000}")
+    public void reconcileCounters() { // Detects drift between the in-memory counters and the tickets table
         try {
-            return ticketCounter.get();
+            if (purchaseMode == PurchaseMode.MEMORY && persistenceQueue.getPendingCount() > 0) {
+                return; // Unwritten changes would show up as drift
+            }
+            long issued = ticketRepository.count();
+            long sold = ticketRepository.countByAvailable(false);
+            long memoryIssued = inventory.getIssuedCount();
+            long memorySold = inventory.getSoldCount();
+            if (issued == memoryIssued && sold == memorySold) {
+                return;
+            }
+
+            String message = "Ticket counter drift detected: memory " + memoryIssued + " issued/" + memorySold
+                    + " sold, database " + issued + " issued/" + sold + " sold";
+            logger.warn(message);
+            loggingService.logSystemEvent(message);
+            if (purchaseMode == PurchaseMode.DATABASE) {
+                // The tickets table is authoritative in this mode, so the counters follow it
+                inventory.recover(issued - sold, issued, sold, inventory.getConfiguration());
+            }
         } catch (Exception e) {
-            logger.error("Error getting total ticket count: {}", e.getMessage());
-            return 0;
+            logger.error("Error reconciling ticket counters: {}", e.getMessage());
         }
     }
 
+    public long getAvailableTicketCount() {
+        return inventory.getAvailableCount();
+    }
+
+    public long getTotalTicketCount() {
+        return inventory.getIssuedCount();
+    }
+
+    public int getPendingWriteCount() { // Ticket changes not yet written to the database
+        return persistenceQueue.getPendingCount();
+    }
+
+    public long getDeadLetterWriteCount() { // Ticket changes the write-behind queue gave up on
+        return persistenceQueue.getDeadLetterCount();
+    }
+
     public List<Ticket> getAllAvailableTickets() {
         try {
-            return ticketRepository.findByAvailable(true);
+            if (purchaseMode == PurchaseMode.DATABASE) {
+                return ticketRepository.findByAvailable(true);
+            }
+            return inventory.getAvailableTickets().stream().map(Ticket::snapshot).toList();
         } catch (Exception e) {
             logger.error("Error getting all available tickets: {}", e.getMessage());
             throw new RuntimeException("Failed to get available tickets");
@@ -170,21 +415,23 @@ public class TicketService {
 
     public long getRemainingTicketCapacity() {
         try {
-            SystemConfiguration config = configRepository.findByActive(true);
+            SystemConfiguration config = inventory.getConfiguration();
             if (config == null) {
                 return 0;
             }
-            return Math.max(0, config.getTotalTickets() - ticketCounter.get());
+            return Math.max(0, config.getTotalTickets() - inventory.getIssuedCount());
         } catch (Exception e) {
             logger.error("Error getting remaining ticket capacity: {}", e.getMessage());
             throw new RuntimeException("Failed to get remaining ticket capacity");
         }
     }
 
-    @Transactional
-    public synchronized void resetSystem() {
+    public void resetSystem() {
+        resetLock.lock();
         try {
-            ticketCounter.set(0);
+            inventory.resetIssuedCount();
+            purchaseLimiter.reset();
+            waitTimeStats.reset();
             hasLoggedTotalLimit = false;
             hasLoggedCapacityLimit = false;
             hasLoggedNoTickets = false;
@@ -193,6 +440,8 @@ public class TicketService {
         } catch (Exception e) {
             logger.error("Error resetting system: {}", e.getMessage());
             throw new RuntimeException("Failed to reset system");
+        } finally {
+            resetLock.unlock();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.ticketing.system.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Time customers spent in the purchase waiting room, overall and per customer. Buckets are powers of two in
+// microseconds, so percentiles are upper bounds within a factor of two.
+@Component
+public class WaitTimeStats {
+    private static final int BUCKETS = 40;
+    private static final int SLOWEST_CUSTOMERS = 10;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final Map<Integer, CustomerWaits> customers = new ConcurrentHashMap<>();
+
+    public WaitTimeStats() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(int customerId, long waitNanos) {
+        long micros = Math.max(1, waitNanos / 1000);
+        buckets[Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros))].increment();
+        maxNanos.accumulate(waitNanos);
+        customers.computeIfAbsent(customerId, id -> new CustomerWaits()).record(waitNanos);
+    }
+
+    public Map<String, Object> getSummary() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        List<Map<String, Object>> perCustomer = new ArrayList<>(customers.size());
+        customers.forEach((id, waits) -> perCustomer.add(waits.summary(id)));
+        perCustomer.sort(Comparator.comparingDouble((Map<String, Object> c) -> (double) c.get("meanMs")).reversed());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("waits", total);
+        summary.put("p50Ms", percentileMillis(counts, total, 50));
+        summary.put("p90Ms", percentileMillis(counts, total, 90));
+        summary.put("p99Ms", percentileMillis(counts, total, 99));
+        summary.put("maxMs", maxNanos.get() / 1e6);
+        summary.put("customers", perCustomer.size());
+        if (!perCustomer.isEmpty()) { // Spread of mean waits across customers shows how even service is
+            summary.put("customerMeanMinMs", perCustomer.get(perCustomer.size() - 1).get("meanMs"));
+            summary.put("customerMeanMedianMs", perCustomer.get(perCustomer.size() / 2).get("meanMs"));
+            summary.put("customerMeanMaxMs", perCustomer.get(0).get("meanMs"));
+        }
+        summary.put("slowestCustomers", perCustomer.subList(0, Math.min(SLOWEST_CUSTOMERS, perCustomer.size())));
+        return summary;
+    }
+
+    public Map<String, Object> getCustomerSummary(int customerId) { // Null if the customer never waited
+        CustomerWaits waits = customers.get(customerId);
+        return waits != null ? waits.summary(customerId) : null;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        maxNanos.reset();
+        customers.clear();
+    }
+
+    private static double percentileMillis(long[] counts, long total, double percentile) {
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return (1L << (i + 1)) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    private static class CustomerWaits {
+        private final AtomicLong waits = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long waitNanos) {
+            waits.incrementAndGet();
+            totalNanos.addAndGet(waitNanos);
+            maxNanos.accumulate(waitNanos);
+        }
+
+        Map<String, Object> summary(int customerId) {
+            long count = waits.get();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("customerId", customerId);
+            summary.put("waits", count);
+            summary.put("meanMs", count == 0 ? 0.0 : totalNanos.get() / 1e6 / count);
+            summary.put("maxMs", maxNanos.get() / 1e6);
+            return summary;
+        }
+    }
+}
@@ -7,11 +7,11 @@ TRUNCATE TABLE system_configuration;
 
 SET FOREIGN_KEY_CHECKS = 1;
 
--- Reset auto-increment counters
-ALTER TABLE tickets AUTO_INCREMENT = 1;
-ALTER TABLE system_logs AUTO_INCREMENT = 1;
+-- Reset id counters
+UPDATE ticket_seq SET next_val = 1;
+UPDATE system_log_seq SET next_val = 1;
 ALTER TABLE system_configuration AUTO_INCREMENT = 1;
 
--- Insert initial system log
-INSERT INTO system_logs (event_type, message, timestamp)
-VALUES ('SYSTEM', 'Database reset completed', CURRENT_TIMESTAMP);
\ No newline at end of file
+-- Insert initial system log (id 0 is never handed out by system_log_seq)
+INSERT INTO system_logs (id, event_type, message, timestamp)
+VALUES (0, 'SYSTEM', 'Database reset completed', CURRENT_TIMESTAMP);
\ No newline at end of file
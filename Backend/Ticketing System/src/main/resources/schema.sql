@@ -1,29 +1,55 @@
 DROP TABLE IF EXISTS tickets;
+DROP TABLE IF EXISTS ticket_seq;
 DROP TABLE IF EXISTS system_logs;
+DROP TABLE IF EXISTS system_log_seq;
 DROP TABLE IF EXISTS system_configuration;
 
 CREATE TABLE IF NOT EXISTS tickets (
-                                       id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                                       ticket_number VARCHAR(255) NOT NULL,
-    available BOOLEAN DEFAULT TRUE,
+                                       id BIGINT PRIMARY KEY,
+                                       ticket_no BIGINT NOT NULL,
+    available BOOLEAN NOT NULL DEFAULT TRUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     vendor_id INT,
-    customer_id INT
+    customer_id INT,
+    UNIQUE KEY uk_tickets_ticket_no (ticket_no),
+    -- Leading on available splits the index into an on-sale and a sold range: serves the FIFO
+    -- "next available" lookups, the SKIP LOCKED claim and countByAvailable without touching sold rows
+    KEY idx_tickets_available_ticket_no (available, ticket_no)
     );
 
+-- Pooled id source for tickets (MySQL has no sequences, Hibernate emulates one with this table)
+CREATE TABLE IF NOT EXISTS ticket_seq (
+                                          next_val BIGINT NOT NULL
+);
+
+INSERT INTO ticket_seq (next_val) VALUES (1);
+
 CREATE TABLE IF NOT EXISTS system_logs (
-                                           id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                           id BIGINT PRIMARY KEY,
                                            event_type VARCHAR(50) NOT NULL,
     message VARCHAR(1000) NOT NULL,
     timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    actor_id INT
+    actor_id INT,
+    KEY idx_system_logs_timestamp (timestamp),
+    KEY idx_system_logs_event_type_timestamp (event_type, timestamp)
     );
 
+-- Pooled id source for log entries, lets the log writer batch its inserts
+CREATE TABLE IF NOT EXISTS system_log_seq (
+                                              next_val BIGINT NOT NULL
+);
+
+INSERT INTO system_log_seq (next_val) VALUES (1);
+
 CREATE TABLE IF NOT EXISTS system_configuration (
                                                     id BIGINT AUTO_INCREMENT PRIMARY KEY,
                                                     total_tickets INT NOT NULL,
                                                     ticket_release_rate INT NOT NULL,
                                                     customer_retrieval_rate INT NOT NULL,
                                                     max_ticket_capacity INT NOT NULL,
-                                                    active BOOLEAN DEFAULT TRUE
+                                                    ticket_releases_per_second DOUBLE NOT NULL DEFAULT 0,
+                                                    customer_retrievals_per_second DOUBLE NOT NULL DEFAULT 0,
+                                                    arrival_mode VARCHAR(16),
+                                                    active BOOLEAN DEFAULT TRUE,
+                                                    KEY idx_system_configuration_active (active)
 );
\ No newline at end of file
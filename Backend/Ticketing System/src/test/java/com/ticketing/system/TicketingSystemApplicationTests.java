@@ -2,8 +2,10 @@ package com.ticketing.system;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("h2") // Runs without a MySQL server
 class TicketingSystemApplicationTests {
 
 	@Test
@@ -0,0 +1,58 @@
+package com.ticketing.system;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:virtual-threads-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles({"h2", "virtual-threads"})
+class VirtualThreadProfileTest {
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Test
+    void requestsRunOnVirtualThreads() {
+        assertThat(restTemplate.getForObject("/test/virtual", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void scheduledTasksRunOnVirtualThreads() throws Exception {
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        taskScheduler.schedule(() -> virtual.complete(Thread.currentThread().isVirtual()), Instant.now());
+
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @TestConfiguration
+    static class ThreadProbe {
+        @Bean
+        ThreadProbeController threadProbeController() {
+            return new ThreadProbeController();
+        }
+    }
+
+    @RestController
+    static class ThreadProbeController {
+        @GetMapping("/test/virtual")
+        boolean virtual() {
+            return Thread.currentThread().isVirtual();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ticketing.system.controller;
+
+import com.ticketing.system.entity.SystemConfiguration;
+import com.ticketing.system.service.ConfigurationService;
+import com.ticketing.system.service.TicketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ticket-status-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TicketStatusEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ConfigurationService configService;
+
+    @Test
+    void unchangedStatusIsNotSentAgain() throws Exception {
+        SystemConfiguration config = new SystemConfiguration();
+        config.setTotalTickets(100);
+        config.setMaxTicketCapacity(100);
+        config.setTicketReleaseRate(1);
+        config.setCustomerRetrievalRate(1);
+        configService.saveConfiguration(config);
+
+        String eTag = mockMvc.perform(get("/api/tickets/status"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(eTag).isNotBlank();
+
+        mockMvc.perform(get("/api/tickets/status").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        long available = ticketService.getTicketStatus().getAvailableTickets();
+        ticketService.addTicket(1);
+        mockMvc.perform(get("/api/tickets/status").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTickets").value(available + 1))
+                .andExpect(result -> assertThat(result.getResponse().getHeader("ETag")).isNotEqualTo(eTag));
+    }
+}
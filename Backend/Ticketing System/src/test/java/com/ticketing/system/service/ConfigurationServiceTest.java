@@ -0,0 +1,76 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.SystemConfiguration;
+import com.ticketing.system.repository.SystemConfigurationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:configuration-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("h2")
+@RecordApplicationEvents
+class ConfigurationServiceTest {
+    @Autowired
+    private ConfigurationService configService;
+
+    @Autowired
+    private SystemConfigurationRepository configRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void savedConfigurationIsCachedAndAnnounced() {
+        SystemConfiguration saved = configService.saveConfiguration(config(300));
+
+        SystemConfiguration active = configService.getActiveConfiguration();
+        assertThat(active.getTotalTickets()).isEqualTo(300);
+        assertThat(active).isNotSameAs(saved); // A detached copy, not the managed entity
+        assertThat(configService.getActiveConfiguration()).isSameAs(active);
+        assertThat(events.stream(ConfigurationChangedEvent.class))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getConfiguration().getTotalTickets()).isEqualTo(300));
+        assertThat(configRepository.findByActive(true).getId()).isEqualTo(saved.getId()); // The previous one was deactivated
+    }
+
+    @Test
+    void readsComeFromTheCacheNotTheTable() {
+        SystemConfiguration saved = configService.saveConfiguration(config(400));
+        SystemConfiguration row = configRepository.findById(saved.getId()).orElseThrow();
+        row.setTotalTickets(999);
+        configRepository.save(row); // Bypasses the service
+
+        assertThat(configService.getActiveConfiguration().getTotalTickets()).isEqualTo(400);
+    }
+
+    @Test
+    void rolledBackSaveLeavesTheCacheAlone() {
+        configService.saveConfiguration(config(500));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            configService.saveConfiguration(config(600));
+            status.setRollbackOnly();
+        });
+
+        assertThat(configService.getActiveConfiguration().getTotalTickets()).isEqualTo(500);
+        assertThat(configRepository.findByActive(true).getTotalTickets()).isEqualTo(500);
+    }
+
+    private static SystemConfiguration config(int totalTickets) {
+        SystemConfiguration config = new SystemConfiguration();
+        config.setTotalTickets(totalTickets);
+        config.setMaxTicketCapacity(100);
+        config.setTicketReleaseRate(1);
+        config.setCustomerRetrievalRate(1);
+        return config;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.SystemConfiguration;
+import com.ticketing.system.entity.Ticket;
+import com.ticketing.system.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:database-purchase-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "ticketing.purchase.mode=database"
+})
+@ActiveProfiles("h2")
+class DatabasePurchaseModeTest {
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ConfigurationService configService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Test
+    void concurrentBuyersEachGetDistinctRows() throws Exception {
+        int tickets = 200;
+        SystemConfiguration config = new SystemConfiguration();
+        config.setTotalTickets(tickets);
+        config.setMaxTicketCapacity(tickets);
+        config.setTicketReleaseRate(1);
+        config.setCustomerRetrievalRate(1);
+        configService.saveConfiguration(config);
+        ticketService.resetSystem();
+        assertThat(ticketService.addTickets(1, tickets)).hasSize(tickets);
+
+        Set<Long> sold = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> buyers = new ArrayList<>();
+        for (int customer = 1; customer <= 8; customer++) {
+            int id = customer;
+            buyers.add(executor.submit(() -> {
+                while (ticketService.getTicketStatus().getAvailableTickets() > 0) {
+                    List<Ticket> bought = id % 2 == 0 ? ticketService.purchaseTickets(id, 2) : listOf(ticketService.purchaseTicket(id));
+                    for (Ticket ticket : bought) {
+                        assertThat(sold.add(ticket.getTicketNo())).as("ticket %d sold twice", ticket.getTicketNo()).isTrue();
+                        assertThat(ticket.getCustomerId()).isEqualTo(id);
+                    }
+                }
+            }));
+        }
+        for (Future<?> buyer : buyers) {
+            buyer.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(sold).hasSize(tickets);
+        assertThat(ticketRepository.countByAvailable(true)).isZero();
+        assertThat(ticketRepository.countByAvailable(false)).isEqualTo(tickets);
+        assertThat(ticketService.getTicketStatus().getSoldTickets()).isEqualTo(tickets);
+    }
+
+    private static List<Ticket> listOf(Ticket ticket) {
+        return ticket == null ? List.of() : List.of(ticket);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.TicketStatus;
+import com.ticketing.system.entity.SystemLogEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventStreamServiceTest {
+    private TicketInventory inventory;
+    private EventStreamService eventStream;
+    private List<SseEmitter> emitters;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        inventory = mock(TicketInventory.class);
+        when(inventory.getStatus()).thenReturn(new TicketStatus(1, 10, 9, 0));
+        eventStream = new EventStreamService();
+        ReflectionTestUtils.setField(eventStream, "inventory", inventory);
+        emitters = (List<SseEmitter>) ReflectionTestUtils.getField(eventStream, "emitters");
+    }
+
+    @Test
+    void everySubscriberGetsTheStatusOnceAndEachLogBatch() {
+        RecordingEmitter first = subscribe(new RecordingEmitter());
+        RecordingEmitter second = subscribe(new RecordingEmitter());
+        eventStream.publishLog(new SystemLogEntry("SYSTEM", "one", null));
+        eventStream.publishLog(new SystemLogEntry("SYSTEM", "two", null));
+
+        push();
+        push(); // Nothing changed since the last push
+
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            assertThat(emitter.events).hasSize(2);
+            assertThat(emitter.events.get(0)).contains("event:status").contains("\"availableTickets\":1");
+            assertThat(emitter.events.get(1)).contains("event:logs").contains("\"one\"", "\"two\"");
+        }
+
+        when(inventory.getStatus()).thenReturn(new TicketStatus(0, 10, 9, 1));
+        push();
+        assertThat(first.events).hasSize(3);
+        assertThat(second.events.get(2)).contains("\"soldTickets\":1");
+    }
+
+    @Test
+    void subscriberThatCannotBeWrittenToIsDroppedAndCompleted() {
+        RecordingEmitter healthy = subscribe(new RecordingEmitter());
+        RecordingEmitter broken = subscribe(new RecordingEmitter());
+        broken.failure = new IOException("Broken pipe");
+
+        push();
+
+        assertThat(eventStream.getSubscriberCount()).isEqualTo(1);
+        assertThat(broken.completedWith).isSameAs(broken.failure);
+        assertThat(healthy.events).hasSize(1);
+        assertThat(healthy.completedWith).isNull();
+    }
+
+    @Test
+    void logsArePushedOnlyWhileSomeoneIsWatching() {
+        eventStream.publishLog(new SystemLogEntry("SYSTEM", "unseen", null));
+        RecordingEmitter emitter = subscribe(new RecordingEmitter());
+
+        push();
+
+        assertThat(emitter.events).hasSize(1).allMatch(event -> event.contains("event:status"));
+    }
+
+    private RecordingEmitter subscribe(RecordingEmitter emitter) {
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    private void push() {
+        ReflectionTestUtils.invokeMethod(eventStream, "push");
+    }
+
+    // Records what would be written to the response, as text
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        volatile IOException failure;
+        volatile Throwable completedWith;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            StringBuilder event = new StringBuilder();
+            for (DataWithMediaType part : builder.build()) {
+                Object data = part.getData();
+                event.append(data instanceof String text ? text : toJson(data));
+            }
+            events.add(event.toString());
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completedWith = ex;
+        }
+
+        private static String toJson(Object data) throws IOException {
+            return Jackson2ObjectMapperBuilder.json().build().writeValueAsString(data);
+        }
+    }
+}
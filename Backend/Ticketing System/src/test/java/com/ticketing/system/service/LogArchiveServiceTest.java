@@ -0,0 +1,144 @@
+package com.ticketing.system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.system.entity.SystemLogEntry;
+import com.ticketing.system.repository.SystemLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:log-archive-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "ticketing.logging.archive-dir=target/log-archive-test",
+        "ticketing.logging.archive-chunk-size=2"
+})
+@ActiveProfiles("h2")
+class LogArchiveServiceTest {
+    private static final Path ARCHIVE_DIR = Paths.get("target/log-archive-test");
+    private static final LocalDate FIRST_DAY = LocalDate.now().minusDays(20);
+    private static final LocalDate SECOND_DAY = FIRST_DAY.plusDays(1);
+
+    @Autowired
+    private LogArchiveService archiveService;
+
+    @Autowired
+    private SystemLogRepository logRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemUtils.deleteRecursively(ARCHIVE_DIR);
+        ReflectionTestUtils.setField(archiveService, "fileEntries", 100_000);
+    }
+
+    @Test
+    void expiredEntriesMoveToDailyArchivesAndReadBack() throws IOException {
+        save(FIRST_DAY, 1, "SYSTEM", "first day one");
+        save(FIRST_DAY, 2, "CUSTOMER", "first day two");
+        save(SECOND_DAY, 1, "SYSTEM", "second day one");
+        SystemLogEntry recent = logRepository.save(new SystemLogEntry("SYSTEM", "still recent", null));
+
+        archiveService.archiveOldLogs();
+
+        assertThat(logRepository.findAll()).extracting(SystemLogEntry::getMessage)
+                .contains("still recent").doesNotContain("first day one", "first day two", "second day one");
+        assertThat(logRepository.findById(recent.getId())).isPresent();
+        assertThat(archiveService.getArchivedDays()).containsExactly(FIRST_DAY, SECOND_DAY);
+        assertThat(read(FIRST_DAY, null)).containsExactly("first day one", "first day two");
+        assertThat(read(FIRST_DAY, "CUSTOMER")).containsExactly("first day two");
+        assertThat(read(SECOND_DAY, null)).containsExactly("second day one");
+        assertThat(archiveService.hasArchive(FIRST_DAY.minusDays(1))).isFalse();
+    }
+
+    @Test
+    void laterRunsAddFilesAndLeaveNoTemporaryFilesBehind() throws IOException {
+        Files.createDirectories(ARCHIVE_DIR);
+        writeGzip(ARCHIVE_DIR.resolve("system-logs-" + FIRST_DAY + ".jsonl.gz"), // A whole-day file from an earlier version
+                objectMapper.writeValueAsString(new SystemLogEntry("SYSTEM", "already archived", null)));
+        Path crashed = ARCHIVE_DIR.resolve("system-logs-" + FIRST_DAY + ".1.jsonl.gz.tmp");
+        Files.write(crashed, new byte[] {1, 2, 3}); // Half-written by a run that crashed
+        ReflectionTestUtils.setField(archiveService, "fileEntries", 2); // A new file every two entries
+        for (int i = 1; i <= 5; i++) {
+            save(FIRST_DAY, i, "SYSTEM", "entry " + i);
+        }
+
+        archiveService.archiveOldLogs();
+
+        assertThat(crashed).doesNotExist();
+        try (Stream<Path> files = Files.list(ARCHIVE_DIR)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .hasSize(4)
+                    .allMatch(name -> name.endsWith(".jsonl.gz"));
+        }
+        assertThat(read(FIRST_DAY, null))
+                .containsExactly("already archived", "entry 1", "entry 2", "entry 3", "entry 4", "entry 5");
+
+        save(FIRST_DAY, 6, "SYSTEM", "entry 6");
+        archiveService.archiveOldLogs();
+
+        assertThat(read(FIRST_DAY, null)).endsWith("entry 5", "entry 6");
+        assertThat(archiveService.getArchivedDays()).containsExactly(FIRST_DAY);
+    }
+
+    @Test
+    void runStartedWhileAnotherIsGoingIsSkipped() throws IOException {
+        save(FIRST_DAY, 1, "SYSTEM", "waits for the next run");
+        AtomicBoolean archiving = (AtomicBoolean) ReflectionTestUtils.getField(archiveService, "archiving");
+        archiving.set(true); // As if a run were still going
+        try {
+            archiveService.archiveOldLogs();
+        } finally {
+            archiving.set(false);
+        }
+
+        assertThat(logRepository.findAll()).extracting(SystemLogEntry::getMessage).contains("waits for the next run");
+        assertThat(archiveService.getArchivedDays()).isEmpty();
+
+        archiveService.archiveOldLogs();
+        assertThat(read(FIRST_DAY, null)).containsExactly("waits for the next run");
+    }
+
+    private void save(LocalDate day, int hour, String eventType, String message) {
+        SystemLogEntry entry = new SystemLogEntry(eventType, message, null);
+        entry.setTimestamp(day.atTime(hour, 0));
+        logRepository.save(entry);
+    }
+
+    private List<String> read(LocalDate day, String eventType) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveService.writeArchive(day, eventType, null, out);
+        return Arrays.stream(objectMapper.readValue(out.toByteArray(), SystemLogEntry[].class))
+                .map(SystemLogEntry::getMessage)
+                .toList();
+    }
+
+    private static void writeGzip(Path file, String line) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+            writer.write(line);
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.LogCursor;
+import com.ticketing.system.dto.LogQuery;
+import com.ticketing.system.entity.SystemLogEntry;
+import com.ticketing.system.repository.SystemLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Entries are dated in 2000, away from the logs the application writes while the tests run
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:log-pagination-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("h2")
+class LogPaginationTest {
+    private static final Comparator<SystemLogEntry> NEWEST_FIRST = Comparator
+            .comparing(SystemLogEntry::getTimestamp).thenComparing(SystemLogEntry::getId).reversed();
+
+    @Autowired
+    private LoggingService loggingService;
+
+    @Autowired
+    private SystemLogRepository logRepository;
+
+    @Test
+    void pagesReturnEveryEntryOnceWhenTimestampsTie() {
+        LocalDateTime day = LocalDateTime.of(2000, 1, 1, 0, 0);
+        List<SystemLogEntry> saved = saveEntries(day, 3, 10); // Pages of 4 split each group of equal timestamps
+        LogQuery query = new LogQuery(null, null, day, day.plusDays(1));
+
+        assertThat(readAllPages(query, 4)).containsExactlyElementsOf(ids(saved, entry -> true));
+    }
+
+    @Test
+    void filtersApplyOnEveryPage() {
+        LocalDateTime day = LocalDateTime.of(2000, 1, 2, 0, 0);
+        List<SystemLogEntry> saved = saveEntries(day, 4, 9);
+
+        LogQuery vendorOne = new LogQuery("VENDOR", 1, day, day.plusDays(1));
+        assertThat(readAllPages(vendorOne, 2)).containsExactlyElementsOf(
+                ids(saved, entry -> entry.getEventType().equals("VENDOR") && entry.getActorId() == 1));
+
+        LogQuery actorTwo = new LogQuery(null, 2, day, day.plusDays(1));
+        assertThat(readAllPages(actorTwo, 3)).containsExactlyElementsOf(ids(saved, entry -> entry.getActorId() == 2));
+    }
+
+    @Test
+    void rangeIncludesFromAndExcludesTo() {
+        LocalDateTime day = LocalDateTime.of(2000, 1, 3, 0, 0);
+        List<SystemLogEntry> saved = saveEntries(day, 3, 5); // At day, day + 1s and day + 2s
+        LocalDateTime from = day.plusSeconds(1);
+        LocalDateTime to = day.plusSeconds(2);
+
+        assertThat(readAllPages(new LogQuery(null, null, from, to), 2))
+                .containsExactlyElementsOf(ids(saved, entry -> entry.getTimestamp().equals(from)));
+    }
+
+    @Test
+    void exportWalksPastThePageSize() {
+        LocalDateTime day = LocalDateTime.of(2000, 1, 4, 0, 0);
+        List<SystemLogEntry> saved = saveEntries(day, 1, 1203); // One timestamp spanning three export pages
+        List<Long> exported = new ArrayList<>();
+
+        loggingService.forEachLog(new LogQuery(null, null, day, day.plusDays(1)), entry -> exported.add(entry.getId()));
+
+        assertThat(exported).containsExactlyElementsOf(ids(saved, entry -> true));
+    }
+
+    private List<Long> readAllPages(LogQuery query, int limit) {
+        List<Long> ids = new ArrayList<>();
+        LogCursor cursor = null;
+        while (true) {
+            List<SystemLogEntry> page = loggingService.getLogsPage(query, cursor, limit);
+            page.forEach(entry -> ids.add(entry.getId()));
+            if (page.size() < limit) {
+                return ids;
+            }
+            SystemLogEntry last = page.get(page.size() - 1);
+            cursor = LogCursor.parse(new LogCursor(last.getTimestamp(), last.getId()).encode()); // As a client sends it back
+        }
+    }
+
+    private List<SystemLogEntry> saveEntries(LocalDateTime start, int timestamps, int perTimestamp) {
+        List<SystemLogEntry> entries = new ArrayList<>();
+        for (int t = 0; t < timestamps; t++) {
+            for (int i = 0; i < perTimestamp; i++) {
+                SystemLogEntry entry = new SystemLogEntry(i % 2 == 0 ? "VENDOR" : "CUSTOMER", "Entry " + t + "/" + i, i % 3);
+                entry.setTimestamp(start.plusSeconds(t));
+                entries.add(entry);
+            }
+        }
+        return logRepository.saveAll(entries);
+    }
+
+    private static List<Long> ids(List<SystemLogEntry> entries, Predicate<SystemLogEntry> filter) {
+        return entries.stream().filter(filter).sorted(NEWEST_FIRST).map(SystemLogEntry::getId).toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.SystemLogEntry;
+import com.ticketing.system.repository.SystemLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogPersistenceQueueTest {
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch finishWrite = new CountDownLatch(1);
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private EventStreamService eventStream;
+    private LogPersistenceQueue logQueue;
+
+    @BeforeEach
+    void setUp() {
+        SystemLogRepository logRepository = mock(SystemLogRepository.class);
+        when(logRepository.saveAll(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            finishWrite.await(); // Stands in for a slow database
+            List<SystemLogEntry> saved = new ArrayList<>(invocation.<List<SystemLogEntry>>getArgument(0));
+            saved.forEach(entry -> written.add(entry.getMessage()));
+            return saved;
+        });
+        eventStream = mock(EventStreamService.class);
+        logQueue = new LogPersistenceQueue();
+        ReflectionTestUtils.setField(logQueue, "logRepository", logRepository);
+        ReflectionTestUtils.setField(logQueue, "eventStream", eventStream);
+        ReflectionTestUtils.setField(logQueue, "queueCapacity", 2);
+        ReflectionTestUtils.setField(logQueue, "batchSize", 10);
+        ReflectionTestUtils.setField(logQueue, "flushIntervalMs", 50L);
+    }
+
+    @Test
+    void dropNewestKeepsWhatIsQueuedAndCountsTheRest() {
+        BlockingQueue<SystemLogEntry> pending = withoutWriter(LogOverflowPolicy.DROP_NEWEST);
+
+        logQueue.enqueue(entry("first"));
+        logQueue.enqueue(entry("second"));
+        logQueue.enqueue(entry("third"));
+
+        assertThat(pending).extracting(SystemLogEntry::getMessage).containsExactly("first", "second");
+        assertThat(logQueue.getStatistics()).containsEntry("queued", 2L).containsEntry("dropped", 1L);
+    }
+
+    @Test
+    void dropOldestMakesRoomForTheNewEntry() {
+        BlockingQueue<SystemLogEntry> pending = withoutWriter(LogOverflowPolicy.DROP_OLDEST);
+
+        logQueue.enqueue(entry("first"));
+        logQueue.enqueue(entry("second"));
+        logQueue.enqueue(entry("third"));
+
+        assertThat(pending).extracting(SystemLogEntry::getMessage).containsExactly("second", "third");
+        assertThat(logQueue.getStatistics()).containsEntry("queued", 3L).containsEntry("dropped", 1L);
+    }
+
+    @Test
+    void flushWaitsForTheWriterToWriteEverythingQueued() throws Exception {
+        ReflectionTestUtils.setField(logQueue, "overflowPolicy", LogOverflowPolicy.BLOCK);
+        ReflectionTestUtils.invokeMethod(logQueue, "start");
+        logQueue.enqueue(entry("first"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        logQueue.enqueue(entry("second")); // Queued behind the batch being written
+        logQueue.enqueue(entry("third"));
+
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(logQueue::flush);
+        Thread.sleep(100);
+        assertThat(flush).isNotDone(); // Still writing the first batch
+        assertThat(written).isEmpty();
+        finishWrite.countDown();
+
+        flush.get(5, TimeUnit.SECONDS);
+        assertThat(written).containsExactly("first", "second", "third");
+        assertThat(logQueue.getStatistics()).containsEntry("flushed", 3L).containsEntry("pending", 0);
+        verify(eventStream, times(3)).publishLog(any());
+    }
+
+    private BlockingQueue<SystemLogEntry> withoutWriter(LogOverflowPolicy policy) { // Nothing drains the queue
+        BlockingQueue<SystemLogEntry> pending = new ArrayBlockingQueue<>(2);
+        ReflectionTestUtils.setField(logQueue, "overflowPolicy", policy);
+        ReflectionTestUtils.setField(logQueue, "pending", pending);
+        return pending;
+    }
+
+    private static SystemLogEntry entry(String message) {
+        return new SystemLogEntry("SYSTEM", message, null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ticketing.system.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRateLimiterTest {
+    private final LogRateLimiter rateLimiter = new LogRateLimiter();
+
+    @Test
+    void repeatWithinIntervalIsSuppressed() {
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.VENDOR, 1, "Added ticket")).isTrue();
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.VENDOR, 1, "Added ticket")).isFalse();
+    }
+
+    @Test
+    void categoryActorAndMessageEachMakeADistinctKey() {
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.VENDOR, 1, "Added ticket")).isTrue();
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.CUSTOMER, 1, "Added ticket")).isTrue();
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.VENDOR, 2, "Added ticket")).isTrue();
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.VENDOR, 1, "Pool full")).isTrue();
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.SYSTEM, -1, "Added ticket")).isTrue(); // Negative ids are masked, not sign-extended
+    }
+
+    @Test
+    void repeatIsAllowedOnceTheIntervalHasPassed() throws InterruptedException {
+        ReflectionTestUtils.setField(rateLimiter, "interval", 50L);
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.SYSTEM, 0, "Simulation started")).isTrue();
+        Thread.sleep(80);
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.SYSTEM, 0, "Simulation started")).isTrue();
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.SYSTEM, 0, "Simulation started")).isFalse();
+    }
+
+    @Test
+    void clearForgetsRecentLogs() {
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.CUSTOMER, 3, "Purchased ticket")).isTrue();
+        rateLimiter.clear();
+        assertThat(rateLimiter.tryAcquire(LogRateLimiter.CUSTOMER, 3, "Purchased ticket")).isTrue();
+    }
+
+    @Test
+    void manyActorsEachGetTheirFirstLogThrough() {
+        for (int actorId = 0; actorId < 200_000; actorId++) { // Far more keys than table slots
+            assertThat(rateLimiter.tryAcquire(LogRateLimiter.CUSTOMER, actorId, "Purchased ticket")).isTrue();
+        }
+    }
+
+    @Test
+    void concurrentRepeatsLetExactlyOneThrough() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        Callable<Boolean> attempt = () -> {
+            start.await();
+            return rateLimiter.tryAcquire(LogRateLimiter.VENDOR, 5, "Ticket pool is full");
+        };
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(attempt));
+        }
+        start.countDown();
+
+        int acquired = 0;
+        for (Future<Boolean> result : results) {
+            acquired += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+        assertThat(acquired).isEqualTo(1);
+    }
+}
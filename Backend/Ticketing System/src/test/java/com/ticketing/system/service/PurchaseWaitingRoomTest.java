@@ -0,0 +1,234 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.Ticket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PurchaseWaitingRoomTest {
+    private PurchaseWaitingRoom waitingRoom;
+    private FakeSource source;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        waitingRoom = new PurchaseWaitingRoom();
+        ReflectionTestUtils.setField(waitingRoom, "waitTimeStats", new WaitTimeStats());
+        ReflectionTestUtils.setField(waitingRoom, "maxWaitMs", 30_000L);
+        source = new FakeSource();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @Test
+    void servesWaitersInArrivalOrder() throws Exception {
+        List<Future<List<Ticket>>> waiters = new ArrayList<>();
+        for (int customer = 1; customer <= 3; customer++) {
+            waiters.add(awaitAsync(customer, 1, 5_000));
+            awaitWaiterCount(customer);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            source.release(1);
+            waitingRoom.serve(source);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            List<Ticket> tickets = waiters.get(i).get(5, TimeUnit.SECONDS);
+            assertThat(tickets).extracting(Ticket::getTicketNo).containsExactly(i + 1L); // The n-th ticket goes to the n-th waiter
+            assertThat(tickets).extracting(Ticket::getCustomerId).containsExactly(i + 1);
+        }
+        assertThat(waitingRoom.hasWaiters()).isFalse();
+    }
+
+    @Test
+    void timedOutWaiterLeavesAndTheNextIsServed() throws Exception {
+        Future<List<Ticket>> first = awaitAsync(1, 1, 50);
+        awaitWaiterCount(1);
+        Future<List<Ticket>> second = awaitAsync(2, 1, 5_000);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEmpty();
+        source.release(1);
+        waitingRoom.serve(source);
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).extracting(Ticket::getCustomerId).containsExactly(2);
+        assertThat(waitingRoom.getWaiterCount()).isZero();
+    }
+
+    @Test
+    void waiterThatCanNeverBeFilledLeavesWithoutBlockingOthers() throws Exception {
+        source.release(2);
+        source.maxFillable = 2;
+        Future<List<Ticket>> bulk = awaitAsyncQueued(1, 5);
+        Future<List<Ticket>> single = awaitAsync(2, 1, 5_000);
+
+        waitingRoom.serve(source);
+
+        assertThat(bulk.get(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(single.get(5, TimeUnit.SECONDS)).hasSize(1);
+    }
+
+    @Test
+    void bulkWaiterKeepsItsPlaceWithoutBlockingSmallerWaiters() throws Exception {
+        Future<List<Ticket>> bulk = awaitAsync(1, 3, 5_000);
+        Future<List<Ticket>> single = awaitAsync(2, 1, 5_000);
+
+        source.release(1);
+        waitingRoom.serve(source);
+
+        assertThat(single.get(5, TimeUnit.SECONDS)).extracting(Ticket::getCustomerId).containsExactly(2);
+        assertThat(bulk.isDone()).isFalse();
+        assertThat(waitingRoom.getWaiterCount()).isEqualTo(1);
+
+        source.release(3);
+        waitingRoom.serve(source);
+
+        assertThat(bulk.get(5, TimeUnit.SECONDS)).hasSize(3);
+        assertThat(waitingRoom.hasWaiters()).isFalse();
+    }
+
+    @Test
+    void waiterGivingUpWhileBeingServedStillGetsItsTicket() throws Exception {
+        CountDownLatch claimStarted = new CountDownLatch(1);
+        CountDownLatch finishClaim = new CountDownLatch(1);
+        source.beforeClaim = () -> {
+            claimStarted.countDown();
+            await(finishClaim); // Stands in for a database transaction
+        };
+        Future<List<Ticket>> waiter = awaitAsync(1, 1, 100);
+        awaitWaiterCount(1);
+        source.release(1);
+        Future<?> server = executor.submit(() -> waitingRoom.serve(source));
+        assertThat(claimStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread.sleep(200); // The waiter times out, serving it finishes it
+        assertThat(waiter.isDone()).isFalse();
+        finishClaim.countDown();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).hasSize(1);
+        server.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void concurrentWaitersEachGetDistinctTickets() throws Exception {
+        int customers = 8;
+        int purchasesEach = 200;
+        Set<Long> sold = ConcurrentHashMap.newKeySet();
+        List<Future<Integer>> buyers = new ArrayList<>();
+        for (int customer = 1; customer <= customers; customer++) {
+            int id = customer;
+            buyers.add(executor.submit(() -> {
+                int bought = 0;
+                while (bought < purchasesEach) {
+                    for (Ticket ticket : waitingRoom.join(id, 1, 20, source).get(5, TimeUnit.SECONDS)) {
+                        assertThat(sold.add(ticket.getTicketNo())).isTrue();
+                        bought++;
+                    }
+                }
+                return bought;
+            }));
+        }
+        for (int vendor = 0; vendor < 2; vendor++) {
+            executor.submit(() -> {
+                for (int i = 0; i < customers * purchasesEach / 2; i++) {
+                    source.release(1);
+                    waitingRoom.serve(source);
+                }
+            });
+        }
+
+        for (Future<Integer> buyer : buyers) {
+            assertThat(buyer.get(30, TimeUnit.SECONDS)).isEqualTo(purchasesEach);
+        }
+        assertThat(sold).hasSize(customers * purchasesEach);
+    }
+
+    private Future<List<Ticket>> awaitAsync(int customerId, int quantity, long waitMs) {
+        return waitingRoom.join(customerId, quantity, waitMs, source);
+    }
+
+    private Future<List<Ticket>> awaitAsyncQueued(int customerId, int quantity) throws InterruptedException {
+        int before = waitingRoom.getWaiterCount();
+        source.blocked = true; // Keeps the waiter from being served or released while it joins
+        Future<List<Ticket>> future = awaitAsync(customerId, quantity, 5_000);
+        awaitWaiterCount(before + 1);
+        source.blocked = false;
+        return future;
+    }
+
+    private void awaitWaiterCount(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (waitingRoom.getWaiterCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(waitingRoom.getWaiterCount()).isGreaterThanOrEqualTo(count);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class FakeSource implements PurchaseWaitingRoom.TicketSource {
+        private final Deque<Ticket> onSale = new ArrayDeque<>();
+        private final AtomicLong lastNumber = new AtomicLong();
+        volatile int maxFillable = Integer.MAX_VALUE;
+        volatile boolean blocked = false;
+        volatile Runnable beforeClaim = () -> {
+        };
+
+        synchronized void release(int count) {
+            for (int i = 0; i < count; i++) {
+                Ticket ticket = new Ticket();
+                ticket.setTicketNo(lastNumber.incrementAndGet());
+                ticket.setAvailable(true);
+                onSale.add(ticket);
+            }
+        }
+
+        @Override
+        public List<Ticket> claim(int customerId, int quantity) {
+            beforeClaim.run();
+            synchronized (this) {
+                if (blocked || onSale.size() < quantity) {
+                    return List.of();
+                }
+                List<Ticket> tickets = new ArrayList<>(quantity);
+                for (int i = 0; i < quantity; i++) {
+                    Ticket ticket = onSale.poll();
+                    ticket.setAvailable(false);
+                    ticket.setCustomerId(customerId);
+                    tickets.add(ticket);
+                }
+                return tickets;
+            }
+        }
+
+        @Override
+        public boolean canFill(int quantity) {
+            return blocked || quantity <= maxFillable;
+        }
+
+        @Override
+        public synchronized long onSale() {
+            return blocked ? 0 : onSale.size();
+        }
+    }
+}
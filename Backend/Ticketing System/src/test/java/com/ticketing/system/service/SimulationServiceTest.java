@@ -0,0 +1,72 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.SystemConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:simulation-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("h2")
+class SimulationServiceTest {
+    @Autowired
+    private SimulationService simulationService;
+
+    @Autowired
+    private ConfigurationService configService;
+
+    @AfterEach
+    void stop() {
+        simulationService.stop();
+    }
+
+    @Test
+    void configurationChangeReschedulesRunningActorsAtTheNewRate() throws InterruptedException {
+        configure(1);
+        simulationService.start(1, 0);
+        Thread.sleep(500);
+        assertThat(ticketsAdded()).isLessThanOrEqualTo(2); // One release per second
+
+        long before = ticketsAdded();
+        configure(400);
+
+        awaitTicketsAdded(before + 100);
+        assertThat(simulationService.getStatus()).containsEntry("vendors", 1).containsEntry("running", true);
+    }
+
+    @Test
+    void scaleAndStopChangeTheActorCounts() {
+        configure(1);
+        simulationService.start(2, 3);
+        simulationService.scale(5, 1);
+        assertThat(simulationService.getStatus()).containsEntry("vendors", 5).containsEntry("customers", 1);
+
+        simulationService.stop();
+        assertThat(simulationService.getStatus()).containsEntry("running", false).containsEntry("vendors", 0);
+    }
+
+    private void configure(double releasesPerSecond) {
+        SystemConfiguration config = new SystemConfiguration();
+        config.setTotalTickets(1_000_000);
+        config.setMaxTicketCapacity(1_000_000);
+        config.setTicketReleaseRate(1);
+        config.setCustomerRetrievalRate(1);
+        config.setTicketReleasesPerSecond(releasesPerSecond);
+        configService.saveConfiguration(config);
+    }
+
+    private long ticketsAdded() {
+        return (Long) simulationService.getStatus().get("ticketsAdded");
+    }
+
+    private void awaitTicketsAdded(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (ticketsAdded() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(ticketsAdded()).isGreaterThanOrEqualTo(count);
+    }
+}
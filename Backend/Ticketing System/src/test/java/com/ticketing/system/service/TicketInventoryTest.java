@@ -0,0 +1,108 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketInventoryTest {
+    private final TicketInventory inventory = new TicketInventory();
+
+    @Test
+    void concurrentVendorsAndBuyersSellEveryTicketExactlyOnce() throws Exception {
+        int totalTickets = 20_000;
+        int maxCapacity = 50;
+        Set<Long> sold = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(executor.submit(() -> {
+                while (true) {
+                    if (!inventory.tryReserveSlot(maxCapacity)) {
+                        Thread.yield(); // Pool is full
+                        continue;
+                    }
+                    long ticketNo = inventory.tryIssueTicketNumber(totalTickets);
+                    if (ticketNo < 0) {
+                        inventory.releaseSlot();
+                        return;
+                    }
+                    inventory.release(ticket(ticketNo));
+                }
+            }));
+        }
+        for (int i = 0; i < 4; i++) {
+            int quantity = i % 2 + 1; // Single and pair purchases
+            tasks.add(executor.submit(() -> {
+                while (inventory.getSoldCount() < totalTickets) {
+                    List<Ticket> tickets = inventory.claim(quantity);
+                    if (tickets.isEmpty()) {
+                        Thread.yield(); // Single-ticket buyers take any odd ticket left at the end
+                    }
+                    tickets.forEach(ticket -> assertThat(sold.add(ticket.getTicketNo())).isTrue());
+                }
+            }));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> task : tasks) {
+            task.get(); // Rethrows assertion failures
+        }
+
+        assertThat(sold).hasSize(totalTickets);
+        assertThat(inventory.getStatus().getAvailableTickets()).isZero();
+        assertThat(inventory.getStatus().getSoldTickets()).isEqualTo(totalTickets);
+        assertThat(inventory.getIssuedCount()).isEqualTo(totalTickets);
+    }
+
+    @Test
+    void claimIsAllOrNothing() {
+        assertThat(inventory.tryReserveSlots(3, 10)).isEqualTo(3);
+        for (int i = 1; i <= 3; i++) {
+            inventory.release(ticket(i));
+        }
+
+        assertThat(inventory.claim(4)).isEmpty();
+        assertThat(inventory.claim(2)).extracting(Ticket::getTicketNo).containsExactly(1L, 2L); // Oldest first
+        assertThat(inventory.getAvailableCount()).isEqualTo(1);
+        assertThat(inventory.getSoldCount()).isEqualTo(2);
+    }
+
+    @Test
+    void slotReservationsStopAtCapacity() {
+        assertThat(inventory.tryReserveSlots(8, 10)).isEqualTo(8);
+        assertThat(inventory.tryReserveSlots(5, 10)).isEqualTo(2);
+        assertThat(inventory.tryReserveSlot(10)).isFalse();
+        inventory.releaseSlot();
+        assertThat(inventory.tryReserveSlot(10)).isTrue();
+    }
+
+    @Test
+    void ticketNumbersContinueAfterSeedAndReset() {
+        inventory.seedTicketNumbers(100);
+        assertThat(inventory.tryIssueTicketNumber(2)).isEqualTo(101);
+        assertThat(inventory.tryIssueTicketNumbers(5, 2).count()).isEqualTo(1); // Only one left of the total
+
+        inventory.resetIssuedCount();
+        TicketInventory.TicketNumberRange range = inventory.tryIssueTicketNumbers(5, 2);
+        assertThat(range.first()).isEqualTo(103);
+        assertThat(range.count()).isEqualTo(2);
+        assertThat(inventory.tryIssueTicketNumber(2)).isEqualTo(-1);
+    }
+
+    private static Ticket ticket(long ticketNo) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNo(ticketNo);
+        ticket.setAvailable(true);
+        return ticket;
+    }
+}
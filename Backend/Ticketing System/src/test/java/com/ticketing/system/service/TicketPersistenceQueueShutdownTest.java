@@ -0,0 +1,89 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.Ticket;
+import com.ticketing.system.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TicketPersistenceQueueShutdownTest {
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch finishWrite = new CountDownLatch(1);
+    private final List<Long> written = new CopyOnWriteArrayList<>();
+    private TicketPersistenceQueue persistenceQueue;
+
+    @BeforeEach
+    void setUp() {
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        when(ticketRepository.saveAll(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            finishWrite.await(); // Stands in for a slow database
+            List<Ticket> saved = new ArrayList<>(invocation.<Collection<Ticket>>getArgument(0));
+            saved.forEach(ticket -> written.add(ticket.getTicketNo()));
+            return saved;
+        });
+        persistenceQueue = new TicketPersistenceQueue();
+        ReflectionTestUtils.setField(persistenceQueue, "ticketRepository", ticketRepository);
+        ReflectionTestUtils.setField(persistenceQueue, "maxPending", 100);
+        ReflectionTestUtils.setField(persistenceQueue, "maxAttempts", 2);
+        ReflectionTestUtils.setField(persistenceQueue, "retryDelayMs", 10L);
+        ReflectionTestUtils.setField(persistenceQueue, "shutdownWaitMs", 5_000L);
+        ReflectionTestUtils.invokeMethod(persistenceQueue, "start");
+    }
+
+    @Test
+    void flushWaitsForTheWriterToWriteEverythingQueued() throws Exception {
+        persistenceQueue.enqueue(ticket(1));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        persistenceQueue.enqueue(ticket(2)); // Queued behind the batch being written
+        persistenceQueue.enqueue(ticket(3));
+
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(persistenceQueue::flush);
+        Thread.sleep(100);
+        assertThat(flush).isNotDone(); // Still writing the first batch
+        assertThat(written).isEmpty();
+        finishWrite.countDown();
+
+        flush.get(5, TimeUnit.SECONDS);
+        assertThat(written).containsExactly(1L, 2L, 3L);
+        assertThat(persistenceQueue.getPendingCount()).isZero();
+    }
+
+    @Test
+    void flushThatStopsWaitingLeavesTheWritesToTheWriter() throws Exception {
+        ReflectionTestUtils.setField(persistenceQueue, "shutdownWaitMs", 50L);
+        persistenceQueue.enqueue(ticket(1));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        persistenceQueue.enqueue(ticket(2));
+
+        persistenceQueue.flush();
+        assertThat(written).isEmpty(); // Nothing was written alongside the writer
+        finishWrite.countDown();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (persistenceQueue.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(written).containsExactly(1L, 2L);
+    }
+
+    private static Ticket ticket(long ticketNo) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNo(ticketNo);
+        ticket.setAvailable(true);
+        return ticket;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.entity.Ticket;
+import com.ticketing.system.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ticket-persistence-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "ticketing.persistence.max-attempts=2",
+        "ticketing.persistence.retry-delay-ms=10"
+})
+@ActiveProfiles("h2")
+class TicketPersistenceQueueTest {
+    @Autowired
+    private TicketPersistenceQueue persistenceQueue;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Test
+    void failingTicketIsDeadLetteredAndTheRestOfTheBatchIsWritten() throws InterruptedException {
+        ticketRepository.save(ticket(1002, true)); // Taken ticket number, inserting it again breaks the unique index
+        long deadLettersBefore = persistenceQueue.getDeadLetterCount();
+
+        persistenceQueue.enqueue(ticket(1001, true));
+        persistenceQueue.enqueue(ticket(1002, true));
+        persistenceQueue.enqueue(ticket(1003, true));
+        awaitWrites();
+
+        assertThat(persistenceQueue.getDeadLetterCount()).isEqualTo(deadLettersBefore + 1);
+        Map<Long, Ticket> rows = rowsByTicketNo();
+        assertThat(rows).containsKeys(1001L, 1002L, 1003L);
+
+        // The rolled-back batch left generated ids behind; the sale must update the row that was actually written
+        Ticket sold = ticket(1001, false);
+        sold.setCustomerId(7);
+        persistenceQueue.enqueue(sold);
+        awaitWrites();
+
+        Map<Long, Ticket> after = rowsByTicketNo();
+        assertThat(after).hasSameSizeAs(rows);
+        assertThat(after.get(1001L).getId()).isEqualTo(rows.get(1001L).getId());
+        assertThat(after.get(1001L).isAvailable()).isFalse();
+        assertThat(after.get(1001L).getCustomerId()).isEqualTo(7);
+        assertThat(persistenceQueue.getDeadLetterCount()).isEqualTo(deadLettersBefore + 1);
+    }
+
+    private Map<Long, Ticket> rowsByTicketNo() {
+        return ticketRepository.findAll().stream().collect(Collectors.toMap(Ticket::getTicketNo, Function.identity()));
+    }
+
+    private void awaitWrites() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (persistenceQueue.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(persistenceQueue.getPendingCount()).isZero();
+    }
+
+    private static Ticket ticket(long ticketNo, boolean available) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketNo(ticketNo);
+        ticket.setAvailable(available);
+        ticket.setVendorId(1);
+        ticket.setCreatedAt(LocalDateTime.now());
+        return ticket;
+    }
+}
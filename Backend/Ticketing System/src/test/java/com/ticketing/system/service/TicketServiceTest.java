@@ -0,0 +1,170 @@
+package com.ticketing.system.service;
+
+import com.ticketing.system.dto.PurchaseResult;
+import com.ticketing.system.entity.SystemConfiguration;
+import com.ticketing.system.entity.Ticket;
+import com.ticketing.system.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ticket-service-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@ActiveProfiles("h2")
+class TicketServiceTest {
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private ConfigurationService configService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private PurchaseLimiter purchaseLimiter;
+
+    @Test
+    void resetThenAddKeepsTicketNumbersUnique() throws InterruptedException {
+        configure(10, 10);
+        ticketService.resetSystem(); // Other tests may have used up the total
+        long last = 0;
+        for (int i = 0; i < 3; i++) {
+            last = ticketService.addTicket(1).getTicketNo();
+        }
+        assertThat(ticketService.purchaseTicket(7)).isNotNull();
+        awaitWrites();
+        long stored = ticketRepository.count();
+
+        ticketService.resetSystem();
+        List<Long> numbers = List.of(ticketService.addTicket(2).getTicketNo(), ticketService.addTicket(2).getTicketNo());
+        awaitWrites();
+
+        assertThat(numbers).containsExactly(last + 1, last + 2);
+        assertThat(ticketRepository.count()).isEqualTo(stored + 2);
+        assertThat(ticketRepository.findAll()).extracting(Ticket::getTicketNo).doesNotHaveDuplicates();
+        assertThat(ticketService.getDeadLetterWriteCount()).isZero();
+        assertThat(ticketService.getTicketStatus().getTotalTickets()).isEqualTo(2); // The total limit restarted
+    }
+
+    @Test
+    void availableTicketsComeFromTheInventoryNotTheLaggingTable() {
+        configure(1000, 1000);
+        int before = ticketService.getAllAvailableTickets().size(); // Other tests may leave tickets on sale
+        List<Long> added = List.of(ticketService.addTicket(1).getTicketNo(), ticketService.addTicket(1).getTicketNo());
+        Ticket sold = ticketService.purchaseTicket(7);
+
+        // Read straight away, before the write-behind has caught up
+        List<Ticket> available = ticketService.getAllAvailableTickets();
+        assertThat(available).hasSize(before + 1);
+        assertThat(available).extracting(Ticket::getTicketNo).doesNotContain(sold.getTicketNo());
+        assertThat(available).extracting(Ticket::getTicketNo).contains(added.get(1));
+    }
+
+    @Test
+    void failedBatchSaveGivesItsTicketsBackToTheTotal() throws InterruptedException {
+        configure(5, 10);
+        ticketService.resetSystem();
+        long first = ticketService.addTicket(1).getTicketNo();
+        awaitWrites();
+        Ticket taken = new Ticket();
+        taken.setTicketNo(first + 2); // Makes the next batch break the unique index
+        taken.setAvailable(false);
+        ticketRepository.save(taken);
+
+        assertThatThrownBy(() -> ticketService.addTickets(1, 3)).isInstanceOf(RuntimeException.class);
+        assertThat(ticketService.getTicketStatus().getTotalTickets()).isEqualTo(1);
+
+        List<Ticket> added = ticketService.addTickets(1, 10);
+        assertThat(added).hasSize(4); // The rest of the total, numbered after the failed batch
+        assertThat(added.get(0).getTicketNo()).isEqualTo(first + 4);
+        assertThat(ticketService.addTicket(1)).isNull();
+    }
+
+    @Test
+    void multiTicketPurchaseIsAllOrNothing() throws InterruptedException {
+        configure(1000, 1000);
+        ticketService.resetSystem();
+        sellRemaining();
+        ticketService.addTickets(1, 2);
+
+        assertThat(ticketService.purchaseTickets(41, 3)).isEmpty();
+        assertThat(ticketService.getTicketStatus().getAvailableTickets()).isEqualTo(2); // Nothing was taken
+
+        ticketService.addTicket(1);
+        List<Ticket> bought = ticketService.purchaseTickets(41, 3);
+        assertThat(bought).hasSize(3).extracting(Ticket::getCustomerId).containsOnly(41);
+        assertThat(ticketService.getTicketStatus().getAvailableTickets()).isZero();
+        awaitWrites();
+        List<Long> numbers = bought.stream().map(Ticket::getTicketNo).toList();
+        assertThat(ticketRepository.findAll()).filteredOn(ticket -> numbers.contains(ticket.getTicketNo()))
+                .hasSize(3)
+                .allMatch(ticket -> !ticket.isAvailable() && Integer.valueOf(41).equals(ticket.getCustomerId()));
+    }
+
+    @Test
+    void newcomerBuysWhileABulkWaiterWaitsForMoreTickets() throws Exception {
+        configure(1000, 1000);
+        ticketService.resetSystem();
+        sellRemaining();
+        CompletableFuture<PurchaseResult> bulk = ticketService.purchase(21, 3, 5_000);
+        assertThat(bulk.isDone()).isFalse(); // Nothing on sale yet
+
+        ticketService.addTicket(1);
+        assertThat(ticketService.purchaseTicket(22)).isNotNull(); // Not held up by the bulk waiter ahead of it
+        assertThat(bulk.isDone()).isFalse();
+
+        ticketService.addTickets(1, 3);
+        PurchaseResult result = bulk.get(5, TimeUnit.SECONDS);
+        assertThat(result.status()).isEqualTo(PurchaseResult.Status.PURCHASED);
+        assertThat(result.tickets()).hasSize(3).extracting(Ticket::getCustomerId).containsOnly(21);
+    }
+
+    @Test
+    void purchaseOverTheLimitReportsLimitReached() {
+        configure(1000, 1000);
+        ticketService.resetSystem();
+        sellRemaining();
+        ReflectionTestUtils.setField(purchaseLimiter, "maxPerCustomer", 2);
+        try {
+            ticketService.addTickets(1, 3);
+
+            assertThat(ticketService.purchase(31, 2, 0).join().status()).isEqualTo(PurchaseResult.Status.PURCHASED);
+            assertThat(ticketService.purchase(31, 1, 0).join().status()).isEqualTo(PurchaseResult.Status.LIMIT_REACHED);
+            assertThat(ticketService.purchase(32, 1, 0).join().status()).isEqualTo(PurchaseResult.Status.PURCHASED);
+            assertThat(ticketService.purchase(33, 1, 0).join().status()).isEqualTo(PurchaseResult.Status.UNAVAILABLE);
+        } finally {
+            ReflectionTestUtils.setField(purchaseLimiter, "maxPerCustomer", 0);
+        }
+    }
+
+    private void sellRemaining() { // A reset leaves tickets on sale
+        while (ticketService.purchaseTicket(99) != null) {
+        }
+    }
+
+    private void configure(int totalTickets, int maxCapacity) {
+        SystemConfiguration config = new SystemConfiguration();
+        config.setTotalTickets(totalTickets);
+        config.setMaxTicketCapacity(maxCapacity);
+        config.setTicketReleaseRate(1);
+        config.setCustomerRetrievalRate(1);
+        configService.saveConfiguration(config);
+    }
+
+    private void awaitWrites() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (ticketService.getPendingWriteCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(ticketService.getPendingWriteCount()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+package com.ticketing.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Runs the selected benchmarks once per thread count and writes one JSON result file per run.
+// Arguments are key=value pairs, e.g. include=CliTicketPool threads=1,4,16 out=results quick=true
+// With more than one thread count, scaling.json compares each benchmark's throughput against the fewest threads.
+public class BenchmarkRunner {
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Map<String, String> options = parseOptions(args);
+        String include = options.getOrDefault("include", ".*Benchmark.*"); // Regex over benchmark names
+        String[] threadCounts = options.getOrDefault("threads", "1,2,4,8,16,32,64").split(",");
+        File outputDir = new File(options.getOrDefault("out", "results"));
+        boolean quick = Boolean.parseBoolean(options.getOrDefault("quick", "false")); // Smoke run, numbers are not reliable
+        outputDir.mkdirs();
+        Map<String, Map<Integer, RunResult>> scores = new TreeMap<>(); // Benchmark and parameters, then thread count
+
+        for (String threadCount : threadCounts) {
+            int threads = Integer.parseInt(threadCount.trim());
+            ChainedOptionsBuilder builder = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .forks(1)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(outputDir, "jmh-threads-" + threads + ".json").getPath());
+            if (quick) {
+                builder.warmupIterations(1)
+                        .warmupTime(TimeValue.seconds(1))
+                        .measurementIterations(2)
+                        .measurementTime(TimeValue.seconds(1));
+            } else {
+                builder.warmupIterations(3)
+                        .warmupTime(TimeValue.seconds(5))
+                        .measurementIterations(5)
+                        .measurementTime(TimeValue.seconds(5));
+            }
+            Collection<RunResult> results = new Runner(builder.build()).run();
+            for (RunResult result : results) {
+                scores.computeIfAbsent(label(result.getParams()), key -> new TreeMap<>()).put(threads, result);
+            }
+        }
+        if (threadCounts.length > 1) {
+            Map<String, Object> scaling = scaling(scores);
+            mapper.writeValue(new File(outputDir, "scaling.json"), scaling);
+            System.out.println(mapper.writeValueAsString(scaling));
+        }
+    }
+
+    private static String label(BenchmarkParams params) { // e.g. CliTicketPoolBenchmark.addThenRemove poolType=sharded
+        StringBuilder label = new StringBuilder(params.getBenchmark().replace(BenchmarkRunner.class.getPackageName() + ".", ""));
+        for (String key : params.getParamsKeys()) {
+            label.append(' ').append(key).append('=').append(params.getParam(key));
+        }
+        return label.toString();
+    }
+
+    private static Map<String, Object> scaling(Map<String, Map<Integer, RunResult>> scores) {
+        Map<String, Object> scaling = new LinkedHashMap<>();
+        scaling.put("availableProcessors", Runtime.getRuntime().availableProcessors()); // Speedup stops past this
+        scores.forEach((label, byThreads) -> {
+            int baseThreads = byThreads.keySet().iterator().next();
+            double base = byThreads.get(baseThreads).getPrimaryResult().getScore();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("unit", byThreads.get(baseThreads).getPrimaryResult().getScoreUnit());
+            Map<Integer, Double> throughput = new TreeMap<>();
+            Map<Integer, Double> speedup = new TreeMap<>();
+            Map<Integer, Double> efficiency = new TreeMap<>(); // Speedup per added thread, 1.0 is linear
+            byThreads.forEach((threads, result) -> {
+                double score = result.getPrimaryResult().getScore();
+                throughput.put(threads, score);
+                speedup.put(threads, base > 0 ? score / base : 0);
+                efficiency.put(threads, base > 0 ? score / base * baseThreads / threads : 0);
+            });
+            entry.put("throughput", throughput);
+            entry.put("speedup", speedup);
+            entry.put("efficiency", efficiency);
+            scaling.put(label, entry);
+        });
+        return scaling;
+    }
+
+    static Map<String, String> parseOptions(String[] args) { // key=value pairs, a bare key means true
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            options.put(parts[0], parts.length > 1 ? parts[1] : "true");
+        }
+        return options;
+    }
+}
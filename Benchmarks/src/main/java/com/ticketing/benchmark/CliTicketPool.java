@@ -0,0 +1,68 @@
+package com.ticketing.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// The CLI classes live in the default package, which named packages cannot import, so calls go through method handles.
+// Pools are created without a listener, the same as the CLI's quiet mode minus the counters.
+public final class CliTicketPool {
+    private static final MethodHandle CREATE;
+    private static final MethodHandle ADD_TICKETS;
+    private static final MethodHandle REMOVE_TICKET;
+    private static final MethodHandle GET_TICKET_COUNT;
+
+    static {
+        try {
+            Class<?> poolClass = Class.forName("TicketPool");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            CREATE = lookup.findStatic(poolClass, "create",
+                    MethodType.methodType(poolClass, String.class, int.class, int.class))
+                    .asType(MethodType.methodType(Object.class, String.class, int.class, int.class));
+            ADD_TICKETS = lookup.findVirtual(poolClass, "addTickets",
+                    MethodType.methodType(boolean.class, int.class, int.class))
+                    .asType(MethodType.methodType(boolean.class, Object.class, int.class, int.class));
+            REMOVE_TICKET = lookup.findVirtual(poolClass, "removeTicket",
+                    MethodType.methodType(long.class, int.class))
+                    .asType(MethodType.methodType(long.class, Object.class, int.class));
+            GET_TICKET_COUNT = lookup.findVirtual(poolClass, "getTicketCount", MethodType.methodType(int.class))
+                    .asType(MethodType.methodType(int.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object pool;
+
+    public CliTicketPool(String poolType, int maxCapacity, int totalTickets) {
+        try {
+            pool = CREATE.invokeExact(poolType, maxCapacity, totalTickets);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create CLI ticket pool", e);
+        }
+    }
+
+    public boolean addTickets(int numTickets, int vendorId) {
+        try {
+            return (boolean) ADD_TICKETS.invokeExact(pool, numTickets, vendorId);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long removeTicket(int customerId) {
+        try {
+            return (long) REMOVE_TICKET.invokeExact(pool, customerId);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getTicketCount() {
+        try {
+            return (int) GET_TICKET_COUNT.invokeExact(pool);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ticketing.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+// CLI TicketPool: each operation releases one ticket and buys one back, so the pool never blocks.
+// The sharded pool has one shard per CPU and actor ids pick the home shard, so addThenRemove stays on one shard.
+@State(Scope.Benchmark)
+public class CliTicketPoolBenchmark {
+    @Param({"synchronized", "ring-buffer", "sharded"})
+    public String poolType;
+
+    @Param({"100"})
+    public int maxCapacity;
+
+    private CliTicketPool pool;
+
+    @Setup(Level.Iteration)
+    public void createPool(BenchmarkParams params) {
+        // Capacity must cover every thread holding one ticket, otherwise adds are refused and removes block
+        pool = new CliTicketPool(poolType, Math.max(maxCapacity, params.getThreads()), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public long addThenRemove(ThreadParams thread) {
+        int actorId = thread.getThreadIndex() + 1;
+        pool.addTickets(1, actorId);
+        return pool.removeTicket(actorId);
+    }
+
+    @Benchmark
+    public long addThenRemoveElsewhere(ThreadParams thread) { // Buys under the next actor id, so shards are shared
+        int actorId = thread.getThreadIndex() + 1;
+        pool.addTickets(1, actorId);
+        return pool.removeTicket(actorId + 1);
+    }
+}
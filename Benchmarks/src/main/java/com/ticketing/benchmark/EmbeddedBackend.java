@@ -0,0 +1,41 @@
+package com.ticketing.benchmark;
+
+import com.ticketing.system.TicketingSystemApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts the backend against the H2 stand-in profile with request and SQL logging turned down
+public final class EmbeddedBackend {
+    private static final String[] QUIET_PROPERTIES = {
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "logging.level.root=WARN",
+            "logging.level.com.ticketing.system=WARN",
+            "logging.level.org.springframework.web=WARN"
+    };
+
+    private EmbeddedBackend() {
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType type, List<String> extraProfiles,
+                                                       String... properties) {
+        List<String> profiles = new ArrayList<>();
+        profiles.add("h2");
+        profiles.addAll(extraProfiles);
+        List<String> args = new ArrayList<>(); // Command-line arguments, so they win over application.properties
+        for (String property : QUIET_PROPERTIES) {
+            args.add("--" + property);
+        }
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(TicketingSystemApplication.class)
+                .web(type)
+                .profiles(profiles.toArray(String[]::new))
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ticketing.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketing.system.entity.SystemLogEntry;
+import com.ticketing.system.entity.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// JSON encoding of the entities returned by the ticket and log endpoints
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    private static final int LOG_PAGE_SIZE = 100; // Same as /api/logs/recent
+
+    private ObjectMapper mapper;
+    private Ticket ticket;
+    private SystemLogEntry log;
+    private List<SystemLogEntry> logPage;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper().findAndRegisterModules(); // Picks up java.time support like Spring Boot does
+
+        ticket = new Ticket();
+        ticket.setId(42L);
+        ticket.setTicketNo(42);
+        ticket.setAvailable(false);
+        ticket.setVendorId(3);
+        ticket.setCustomerId(7);
+        ticket.setCreatedAt(LocalDateTime.now());
+
+        logPage = new ArrayList<>(LOG_PAGE_SIZE);
+        for (int i = 0; i < LOG_PAGE_SIZE; i++) {
+            SystemLogEntry entry = new SystemLogEntry();
+            entry.setId((long) i);
+            entry.setEventType("CUSTOMER");
+            entry.setActorId(i % 10);
+            entry.setMessage("Purchased Ticket-" + i);
+            entry.setTimestamp(LocalDateTime.now());
+            logPage.add(entry);
+        }
+        log = logPage.get(0);
+    }
+
+    @Benchmark
+    public byte[] ticket() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(ticket);
+    }
+
+    @Benchmark
+    public byte[] logEntry() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(log);
+    }
+
+    @Benchmark
+    public byte[] logPage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(logPage);
+    }
+}
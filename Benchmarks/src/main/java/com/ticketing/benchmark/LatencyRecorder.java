@@ -0,0 +1,59 @@
+package com.ticketing.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps every sample of one worker thread so percentiles are exact; merged only once the run is over
+final class LatencyRecorder {
+    private long[] samples = new long[1 << 14];
+    private int size;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    static Map<String, Object> summarize(List<LatencyRecorder> recorders) { // Milliseconds
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(all);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", total);
+        if (total == 0) {
+            return summary;
+        }
+        summary.put("mean", toMillis(Arrays.stream(all).sum() / total));
+        summary.put("p50", toMillis(percentile(all, 50)));
+        summary.put("p90", toMillis(percentile(all, 90)));
+        summary.put("p99", toMillis(percentile(all, 99)));
+        summary.put("p99.9", toMillis(percentile(all, 99.9)));
+        summary.put("max", toMillis(all[total - 1]));
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double percentile) { // Nearest-rank
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
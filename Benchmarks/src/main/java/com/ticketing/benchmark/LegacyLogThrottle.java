@@ -0,0 +1,34 @@
+package com.ticketing.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The string-keyed map LoggingService used before LogRateLimiter, kept as a baseline for comparison
+public class LegacyLogThrottle {
+    private final Map<String, Long> lastLogTimes = new ConcurrentHashMap<>();
+    private static final long LOG_INTERVAL = 2000; // 2 seconds between similar logs
+
+    public boolean tryLog(String category, int actorId, String message) {
+        String key = category + "-" + actorId + "-" + message;
+        if (canLog(key)) {
+            updateLastLogTime(key);
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized boolean canLog(String key) {
+        long currentTime = System.currentTimeMillis();
+        Long lastLogTime = lastLogTimes.get(key);
+        return lastLogTime == null || (currentTime - lastLogTime) >= LOG_INTERVAL;
+    }
+
+    private void updateLastLogTime(String key) {
+        lastLogTimes.put(key, System.currentTimeMillis());
+
+        // Clean up old entries
+        long currentTime = System.currentTimeMillis();
+        lastLogTimes.entrySet().removeIf(entry ->
+                (currentTime - entry.getValue()) > LOG_INTERVAL * 10);
+    }
+}
@@ -0,0 +1,391 @@
+package com.ticketing.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+// Drives vendor and customer traffic through the REST API, then checks that no ticket was sold twice or sold
+// without being issued, and that the status counters and the tickets table agree with what clients saw.
+// Without target= the backend is started in-process on the H2 stand-in profile. Arguments are key=value pairs:
+//   target=http://host:8080  vendors=4  customers=16  duration=30  warmup=5  mode=memory|database
+//   totalTickets=1000000000  maxCapacity=1000  profiles=virtual-threads  compare=true  out=results
+// compare=true runs the embedded backend twice, without and with the virtual-threads profile.
+// Writes one JSON report per run to out/load-<label>.json and exits with 1 if any check failed.
+public class LoadTest {
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final long DRAIN_TIMEOUT_MS = 60_000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final String target;
+    private final Map<String, String> options;
+
+    // Every ticket number clients were handed during the run, warm-up included
+    private final Set<Long> issuedNumbers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> soldNumbers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> duplicateSales = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private LoadTest(String target, Map<String, String> options) {
+        this.target = target;
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = BenchmarkRunner.parseOptions(args);
+        File outputDir = new File(options.getOrDefault("out", "results"));
+        outputDir.mkdirs();
+
+        Map<String, Map<String, Object>> reports = new LinkedHashMap<>();
+        if (options.containsKey("target")) {
+            reports.put("external", new LoadTest(options.get("target"), options).run("external"));
+        } else if (Boolean.parseBoolean(options.getOrDefault("compare", "false"))) {
+            reports.put("platform-threads", runEmbedded(options, List.of(), "platform-threads"));
+            reports.put("virtual-threads", runEmbedded(options, List.of("virtual-threads"), "virtual-threads"));
+        } else {
+            String profiles = options.getOrDefault("profiles", "");
+            List<String> extraProfiles = profiles.isBlank() ? List.of() : Arrays.asList(profiles.split(","));
+            String label = profiles.isBlank() ? "embedded" : profiles.replace(',', '-');
+            reports.put(label, runEmbedded(options, extraProfiles, label));
+        }
+
+        boolean passed = true;
+        for (Map.Entry<String, Map<String, Object>> entry : reports.entrySet()) {
+            mapper.writeValue(new File(outputDir, "load-" + entry.getKey() + ".json"), entry.getValue());
+            @SuppressWarnings("unchecked")
+            Map<String, Object> checks = (Map<String, Object>) entry.getValue().get("checks");
+            passed &= (Boolean) checks.get("passed");
+        }
+        if (reports.size() == 2) {
+            mapper.writeValue(new File(outputDir, "load-comparison.json"), compare(reports));
+        }
+        System.out.println(mapper.writeValueAsString(reports));
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static Map<String, Object> runEmbedded(Map<String, String> options, List<String> profiles, String label)
+            throws Exception {
+        ConfigurableApplicationContext context = EmbeddedBackend.start(WebApplicationType.SERVLET, profiles,
+                "server.port=0",
+                "ticketing.purchase.mode=" + options.getOrDefault("mode", "memory"));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Map<String, Object> report = new LoadTest("http://localhost:" + port, options).run(label);
+            report.put("profiles", profiles);
+            return report;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Map<String, Object> compare(Map<String, Map<String, Object>> reports) {
+        List<Map<String, Object>> runs = new ArrayList<>(reports.values());
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("baseline", runs.get(0).get("label"));
+        comparison.put("candidate", runs.get(1).get("label"));
+        comparison.put("throughputRatio", ratio(runs, "throughput", "requestsPerSecond"));
+        comparison.put("purchaseRateRatio", ratio(runs, "throughput", "purchasesPerSecond"));
+        comparison.put("customerP99Ratio", ratio(runs, "customerLatencyMs", "p99"));
+        comparison.put("customerP999Ratio", ratio(runs, "customerLatencyMs", "p99.9"));
+        return comparison;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Double ratio(List<Map<String, Object>> runs, String section, String key) { // candidate / baseline
+        Object baseline = ((Map<String, Object>) runs.get(0).get(section)).get(key);
+        Object candidate = ((Map<String, Object>) runs.get(1).get(section)).get(key);
+        if (!(baseline instanceof Number b) || !(candidate instanceof Number c) || b.doubleValue() == 0) {
+            return null;
+        }
+        return Math.round(c.doubleValue() / b.doubleValue() * 1000) / 1000.0;
+    }
+
+    private Map<String, Object> run(String label) throws Exception {
+        int vendors = Integer.parseInt(options.getOrDefault("vendors", "4"));
+        int customers = Integer.parseInt(options.getOrDefault("customers", "16"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        long totalTickets = Long.parseLong(options.getOrDefault("totalTickets", "1000000000"));
+        int maxCapacity = Integer.parseInt(options.getOrDefault("maxCapacity", "1000"));
+
+        configure(totalTickets, maxCapacity);
+        JsonNode statusBefore = getJson("/api/tickets/status");
+        Snapshot before = snapshotTickets();
+
+        List<Worker> vendorWorkers = new ArrayList<>();
+        List<Worker> customerWorkers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        for (int i = 1; i <= vendors; i++) {
+            Worker worker = new Worker("/api/tickets/vendor/" + i, true, startSignal);
+            vendorWorkers.add(worker);
+            threads.add(new Thread(worker, "load-vendor-" + i));
+        }
+        for (int i = 1; i <= customers; i++) {
+            Worker worker = new Worker("/api/tickets/customer/" + i, false, startSignal);
+            customerWorkers.add(worker);
+            threads.add(new Thread(worker, "load-customer-" + i));
+        }
+        threads.forEach(Thread::start);
+
+        startSignal.countDown();
+        Thread.sleep(warmupSeconds * 1000L);
+        measuring = true;
+        long measureStart = System.nanoTime();
+        Thread.sleep(durationSeconds * 1000L);
+        measuring = false;
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Worker> allWorkers = new ArrayList<>(vendorWorkers);
+        allWorkers.addAll(customerWorkers);
+        long requests = sum(allWorkers, w -> w.requests);
+        long errors = sum(allWorkers, w -> w.errors);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("target", target);
+        report.put("vendors", vendors);
+        report.put("customers", customers);
+        report.put("warmupSeconds", warmupSeconds);
+        report.put("durationSeconds", durationSeconds);
+        report.put("totalTickets", totalTickets);
+        report.put("maxCapacity", maxCapacity);
+
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        throughput.put("requestsPerSecond", perSecond(requests, measuredSeconds));
+        throughput.put("ticketsAddedPerSecond", perSecond(sum(vendorWorkers, w -> w.succeeded), measuredSeconds));
+        throughput.put("purchasesPerSecond", perSecond(sum(customerWorkers, w -> w.succeeded), measuredSeconds));
+        report.put("throughput", throughput);
+
+        report.put("vendorLatencyMs", LatencyRecorder.summarize(vendorWorkers.stream().map(w -> w.latencies).toList()));
+        report.put("customerLatencyMs", LatencyRecorder.summarize(customerWorkers.stream().map(w -> w.latencies).toList()));
+
+        Map<String, Object> outcomes = new LinkedHashMap<>();
+        outcomes.put("requests", requests);
+        outcomes.put("ticketsAdded", sum(vendorWorkers, w -> w.succeeded));
+        outcomes.put("vendorRejected", sum(vendorWorkers, w -> w.refused)); // Capacity or total limit, 400
+        outcomes.put("purchases", sum(customerWorkers, w -> w.succeeded));
+        outcomes.put("purchasesSoldOut", sum(customerWorkers, w -> w.refused)); // Nothing on sale, 404
+        outcomes.put("errors", errors); // 5xx, unexpected statuses and client-side failures
+        outcomes.put("errorRate", requests == 0 ? 0.0 : Math.round(errors * 1e6 / requests) / 1e6);
+        report.put("outcomes", outcomes);
+
+        report.put("checks", check(statusBefore, before, totalTickets));
+        return report;
+    }
+
+    private Map<String, Object> check(JsonNode statusBefore, Snapshot before, long totalTickets) throws Exception {
+        boolean drained = awaitWriteBehind();
+        JsonNode statusAfter = getJson("/api/tickets/status");
+        Snapshot after = snapshotTickets();
+
+        long issued = issuedNumbers.size();
+        long sold = soldNumbers.size();
+        Set<Long> soldWithoutIssue = new HashSet<>(soldNumbers);
+        soldWithoutIssue.removeAll(issuedNumbers);
+        soldWithoutIssue.removeAll(before.available); // Tickets already on sale before the run are fair game
+        Set<Long> missingInDatabase = new HashSet<>(soldNumbers);
+        missingInDatabase.removeAll(after.sold);
+
+        long statusIssued = statusAfter.path("totalTickets").asLong() - statusBefore.path("totalTickets").asLong();
+        long statusSold = statusAfter.path("soldTickets").asLong() - statusBefore.path("soldTickets").asLong();
+        long databaseRows = after.rows - before.rows;
+        long databaseSold = after.sold.size() - before.sold.size();
+
+        Map<String, Object> checks = new LinkedHashMap<>();
+        checks.put("duplicateSales", duplicateSales.size());
+        checks.put("soldWithoutIssue", soldWithoutIssue.size());
+        checks.put("oversold", sold > issued + before.available.size() || statusAfter.path("totalTickets").asLong() > totalTickets);
+        checks.put("statusIssued", statusIssued);
+        checks.put("statusSold", statusSold);
+        checks.put("statusMatchesClients", statusIssued == issued && statusSold == sold);
+        checks.put("writeBehindDrained", drained);
+        checks.put("databaseRows", databaseRows);
+        checks.put("databaseSold", databaseSold);
+        checks.put("databaseDuplicateTicketNumbers", after.duplicateNumbers);
+        checks.put("soldMissingInDatabase", missingInDatabase.size());
+        checks.put("databaseMatchesClients", databaseRows == issued && databaseSold == sold && missingInDatabase.isEmpty());
+        checks.put("passed", duplicateSales.isEmpty() && soldWithoutIssue.isEmpty()
+                && !(Boolean) checks.get("oversold")
+                && (Boolean) checks.get("statusMatchesClients")
+                && drained
+                && after.duplicateNumbers == 0
+                && (Boolean) checks.get("databaseMatchesClients"));
+        return checks;
+    }
+
+    private boolean awaitWriteBehind() throws Exception { // In memory mode the tickets table lags behind the API
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            if (getJson("/api/system/health").path("pendingTicketWrites").asInt() == 0) {
+                return true;
+            }
+            Thread.sleep(200);
+        }
+        return false;
+    }
+
+    private void configure(long totalTickets, int maxCapacity) throws Exception {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("totalTickets", totalTickets);
+        config.put("ticketReleaseRate", 1);
+        config.put("customerRetrievalRate", 1);
+        config.put("maxTicketCapacity", maxCapacity);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(target + "/api/configuration"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(config)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Configuration rejected (" + response.statusCode() + "): " + response.body());
+        }
+    }
+
+    private Snapshot snapshotTickets() throws Exception { // Full scan of the tickets table through the debug endpoint
+        Snapshot snapshot = new Snapshot();
+        Set<Long> numbers = new HashSet<>();
+        for (JsonNode ticket : getJson("/api/debug/tickets")) {
+            long ticketNo = ticketNumberOf(ticket);
+            snapshot.rows++;
+            if (!numbers.add(ticketNo)) {
+                snapshot.duplicateNumbers++;
+            }
+            if (ticket.path("available").asBoolean()) {
+                snapshot.available.add(ticketNo);
+            } else if (!ticket.path("customerId").isNull()) {
+                snapshot.sold.add(ticketNo);
+            }
+        }
+        return snapshot;
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(target + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return mapper.readTree(response.body());
+    }
+
+    private static long ticketNumberOf(JsonNode ticket) {
+        return ticket.path("ticketNo").asLong();
+    }
+
+    private static long sum(List<Worker> workers, java.util.function.ToLongFunction<Worker> counter) {
+        return workers.stream().mapToLong(counter).sum();
+    }
+
+    private static double perSecond(long count, double seconds) {
+        return Math.round(count / seconds * 10) / 10.0;
+    }
+
+    private static final class Snapshot {
+        long rows;
+        long duplicateNumbers;
+        final Set<Long> available = new HashSet<>();
+        final Set<Long> sold = new HashSet<>();
+    }
+
+    // One closed-loop client: sends the next request as soon as the previous one is answered
+    private final class Worker implements Runnable {
+        private final URI uri;
+        private final boolean vendor;
+        private final CountDownLatch startSignal;
+        final LatencyRecorder latencies = new LatencyRecorder();
+        long requests; // Measured window only
+        long succeeded;
+        long refused;
+        long errors;
+
+        Worker(String path, boolean vendor, CountDownLatch startSignal) {
+            this.uri = URI.create(target + path);
+            this.vendor = vendor;
+            this.startSignal = startSignal;
+        }
+
+        @Override
+        public void run() {
+            try {
+                startSignal.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(REQUEST_TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            while (running) {
+                boolean measured = measuring;
+                long start = System.nanoTime();
+                int outcome;
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    outcome = handle(response);
+                } catch (IOException e) {
+                    outcome = 2;
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long elapsed = System.nanoTime() - start;
+                if (measured) {
+                    latencies.record(elapsed);
+                    requests++;
+                    switch (outcome) {
+                        case 0 -> succeeded++;
+                        case 1 -> refused++;
+                        default -> errors++;
+                    }
+                }
+            }
+        }
+
+        private int handle(HttpResponse<String> response) throws IOException { // 0 ok, 1 refused, 2 error
+            int status = response.statusCode();
+            if (status == 200) {
+                long ticketNo = ticketNumberOf(mapper.readTree(response.body()));
+                if (vendor) {
+                    issuedNumbers.add(ticketNo);
+                } else if (!soldNumbers.add(ticketNo)) {
+                    duplicateSales.add(ticketNo);
+                }
+                return 0;
+            }
+            if ((vendor && status == 400) || (!vendor && status == 404)) {
+                return 1;
+            }
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ticketing.benchmark;
+
+import com.ticketing.system.service.LogRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Log throttling cost as the number of distinct actors grows, against the old map-based throttle
+@State(Scope.Benchmark)
+public class LogRateLimiterBenchmark {
+    private static final String[] MESSAGES = {"Added ticket: Ticket-1", "Purchased Ticket-1", "Maximum capacity reached"};
+
+    @Param({"100", "10000", "100000"})
+    public int actors;
+
+    private LogRateLimiter limiter;
+    private LegacyLogThrottle legacy;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        int next;
+
+        int nextActor(int actors) { // Cycles through every actor so repeats are spread over the interval
+            next = next + 1 == actors ? 0 : next + 1;
+            return next;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        limiter = new LogRateLimiter();
+        legacy = new LegacyLogThrottle();
+    }
+
+    @Benchmark
+    public boolean rateLimiter(Caller caller) {
+        int actorId = caller.nextActor(actors);
+        return limiter.tryAcquire(LogRateLimiter.VENDOR, actorId, MESSAGES[actorId % MESSAGES.length]);
+    }
+
+    @Benchmark
+    public boolean legacyThrottle(Caller caller) {
+        int actorId = caller.nextActor(actors);
+        return legacy.tryLog("VENDOR", actorId, MESSAGES[actorId % MESSAGES.length]);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ticketing.benchmark;
+
+import com.ticketing.system.entity.SystemConfiguration;
+import com.ticketing.system.entity.Ticket;
+import com.ticketing.system.service.ConfigurationService;
+import com.ticketing.system.service.TicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+// Backend TicketService against the H2 stand-in database; each operation adds tickets and buys them back
+@State(Scope.Benchmark)
+public class TicketServiceBenchmark {
+    @Param({"memory", "database"})
+    public String purchaseMode;
+
+    @Param({"10"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+
+    @Setup(Level.Trial)
+    public void startBackend() {
+        context = EmbeddedBackend.start(WebApplicationType.NONE, List.of(), "ticketing.purchase.mode=" + purchaseMode);
+
+        SystemConfiguration config = new SystemConfiguration();
+        config.setTotalTickets(Integer.MAX_VALUE); // Limits must never stop a measurement
+        config.setMaxTicketCapacity(Integer.MAX_VALUE);
+        config.setTicketReleaseRate(1);
+        config.setCustomerRetrievalRate(1);
+        context.getBean(ConfigurationService.class).saveConfiguration(config);
+        ticketService = context.getBean(TicketService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBackend() {
+        context.close(); // Also flushes the write-behind queue
+    }
+
+    @Benchmark
+    public Ticket addThenPurchase(ThreadParams thread) {
+        int actorId = thread.getThreadIndex() + 1;
+        ticketService.addTicket(actorId);
+        return ticketService.purchaseTicket(actorId);
+    }
+
+    @Benchmark
+    public List<Ticket> addThenPurchaseBatch(ThreadParams thread) {
+        int actorId = thread.getThreadIndex() + 1;
+        ticketService.addTickets(actorId, batchSize);
+        return ticketService.purchaseTickets(actorId, batchSize);
+    }
+}
@@ -0,0 +1,186 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Customer side shared by the pools: per-customer limits, the waiting room and the sold-out signal.
+// Customers who find the pool empty queue in a lock-free FIFO; whoever adds tickets serves the oldest waiter first,
+// and while anyone is waiting newcomers join the queue instead of taking tickets ahead of them. Only one thread
+// serves at a time, so no thread ever waits for another to finish serving a customer.
+// Subclasses provide the ticket buffer and call ticketsAdded() after publishing tickets.
+public abstract class AbstractTicketPool implements TicketPool {
+    protected final TicketPoolListener listener;
+    private final int maxTicketsPerCustomer; // 0 means no limit
+    private final ConcurrentHashMap<Integer, AtomicInteger> purchases = new ConcurrentHashMap<>(); // Tickets held per customer
+    private final ConcurrentLinkedQueue<PendingPurchase> waitingRoom = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean soldOut = new AtomicBoolean(false);
+    private final AtomicInteger servePasses = new AtomicInteger(0); // Passes requested, non-zero while a thread serves
+
+    protected AbstractTicketPool(int maxTicketsPerCustomer, TicketPoolListener listener) {
+        this.maxTicketsPerCustomer = maxTicketsPerCustomer;
+        this.listener = listener;
+    }
+
+    protected abstract long take(int customerId); // NO_TICKET if the buffer is empty; the customer is a placement hint
+
+    protected abstract boolean isExhausted(); // Every ticket has been issued and taken
+
+    @Override
+    public long removeTicket(int customerId, long timeout, TimeUnit unit) {
+        long ticket = tryTake(customerId);
+        if (ticket != NO_TICKET) {
+            return ticket;
+        }
+        listener.poolEmpty(customerId);
+        PendingPurchase purchase = join(customerId);
+        try {
+            return purchase.get(timeout, unit);
+        } catch (TimeoutException e) {
+            return purchase.cancel(false) ? NO_TICKET : purchase.join(); // Served while giving up
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return purchase.cancel(false) ? NO_TICKET : purchase.join();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause()); // Never completed exceptionally by the pool
+        }
+    }
+
+    @Override
+    public long tryRemoveTicket(int customerId) {
+        long ticket = tryTake(customerId);
+        if (ticket == NO_TICKET) {
+            releaseQuota(customerId);
+            listener.poolEmpty(customerId);
+        }
+        return ticket;
+    }
+
+    @Override
+    public CompletableFuture<Long> removeTicketAsync(int customerId) {
+        long ticket = tryTake(customerId);
+        if (ticket != NO_TICKET) {
+            return CompletableFuture.completedFuture(ticket);
+        }
+        listener.poolEmpty(customerId);
+        return join(customerId);
+    }
+
+    @Override
+    public boolean isSoldOut() {
+        return soldOut.get();
+    }
+
+    protected void ticketsAdded() { // Call after publishing tickets
+        serveWaitingRoom();
+    }
+
+    protected void checkSoldOut() { // Call when a vendor finds the total ticket limit reached
+        if (soldOut.get() || !isExhausted() || !soldOut.compareAndSet(false, true)) {
+            return;
+        }
+        serveWaitingRoom(); // Releases everyone with SOLD_OUT
+        listener.soldOut();
+    }
+
+    void withdrawn(PendingPurchase purchase) { // A waiting customer gave up; the queue drops it when it reaches the head
+        releaseQuota(purchase.getCustomerId());
+    }
+
+    private long tryTake(int customerId) { // A ticket, SOLD_OUT, LIMIT_REACHED, or NO_TICKET with the quota still held
+        if (!acquireQuota(customerId)) {
+            return LIMIT_REACHED;
+        }
+        long ticket = waitingRoom.isEmpty() ? take(customerId) : NO_TICKET; // Customers already waiting go first
+        if (ticket != NO_TICKET) {
+            sold(customerId, ticket);
+            return ticket;
+        }
+        if (soldOut.get()) {
+            releaseQuota(customerId);
+            return SOLD_OUT;
+        }
+        return NO_TICKET;
+    }
+
+    private PendingPurchase join(int customerId) {
+        PendingPurchase purchase = new PendingPurchase(this, customerId);
+        waitingRoom.add(purchase);
+        serveWaitingRoom(); // A ticket, or the sell-out, may have arrived while joining
+        return purchase;
+    }
+
+    private void serveWaitingRoom() { // One thread serves at a time; a call that finds one serving leaves it a pass
+        if (servePasses.getAndIncrement() != 0) {
+            return; // The serving thread runs another pass for us
+        }
+        int passes = 1;
+        try {
+            do {
+                servePass();
+                passes = servePasses.addAndGet(-passes);
+            } while (passes != 0);
+        } catch (RuntimeException e) {
+            servePasses.set(0); // Lets the next call take over
+            throw e;
+        }
+    }
+
+    private void servePass() { // Hands tickets to waiting customers, oldest first
+        PendingPurchase head;
+        while ((head = waitingRoom.peek()) != null) {
+            if (!head.beginServing()) {
+                waitingRoom.remove(head); // Withdrawn, only the serving thread moves a waiter out of WAITING otherwise
+                continue;
+            }
+            long ticket = take(head.getCustomerId());
+            if (ticket == NO_TICKET && !soldOut.get()) {
+                head.endServing(); // Whoever adds the next ticket serves it
+                return;
+            }
+            waitingRoom.remove(head);
+            if (ticket == NO_TICKET) {
+                releaseQuota(head.getCustomerId());
+                head.deliver(SOLD_OUT);
+                continue;
+            }
+            listener.customerWaited(head.getCustomerId(), System.nanoTime() - head.getJoinedNanos());
+            head.deliver(ticket);
+            sold(head.getCustomerId(), ticket);
+        }
+    }
+
+    protected int poolSizeForListener() { // 0 when the listener ignores it
+        return listener.usesPoolSize() ? getTicketCount() : 0;
+    }
+
+    private void sold(int customerId, long ticket) {
+        listener.ticketSold(customerId, ticket, poolSizeForListener());
+        checkSoldOut();
+    }
+
+    private boolean acquireQuota(int customerId) {
+        if (maxTicketsPerCustomer <= 0) {
+            return true;
+        }
+        AtomicInteger held = purchases.computeIfAbsent(customerId, id -> new AtomicInteger());
+        while (true) {
+            int current = held.get();
+            if (current >= maxTicketsPerCustomer) {
+                return false;
+            }
+            if (held.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseQuota(int customerId) { // The purchase it was acquired for did not happen
+        if (maxTicketsPerCustomer > 0) {
+            purchases.get(customerId).decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+import java.util.List;
+
+// Runs the simulated vendors and customers; selected by actorRuntime in config.json
+public interface ActorRuntime {
+    String PLATFORM = "platform"; // One OS thread per actor, the original model
+    String VIRTUAL = "virtual"; // One virtual thread per actor
+    String SCHEDULED = "scheduled"; // Periodic tasks on a small shared timer pool
+
+    void start(List<Vendor> vendors, List<Customer> customers);
+
+    void stop(); // Returns once every actor has stopped
+
+    static ActorRuntime create(String runtime, LogAppender logWriter) {
+        if (SCHEDULED.equals(runtime)) {
+            return new ScheduledActorRuntime(Runtime.getRuntime().availableProcessors(), logWriter);
+        }
+        if (PLATFORM.equals(runtime)) {
+            return new ThreadActorRuntime(false);
+        }
+        if (!VIRTUAL.equals(runtime)) {
+            System.out.println("Unknown actor runtime '" + runtime + "', using " + VIRTUAL + ".");
+        }
+        return new ThreadActorRuntime(true);
+    }
+}
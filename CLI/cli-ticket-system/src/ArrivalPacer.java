@@ -0,0 +1,72 @@
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Paces one vendor or customer at a mean rate in events per second. Arrival times follow the chosen mode and are
+// handed out as tokens: an actor that wakes late (timer granularity, a blocked call) gets every arrival it missed,
+// up to 100ms worth, instead of being limited to one event per wake-up.
+public class ArrivalPacer {
+    public static final String FIXED = "fixed"; // Evenly spaced, the original behaviour
+    public static final String JITTERED = "jittered"; // Each gap uniform within +/-50% of the mean
+    public static final String POISSON = "poisson"; // Exponential gaps, as independent arrivals would have
+    public static final double MAX_RATE = 1_000_000; // Per actor, one event per microsecond
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long BURST_WINDOW_NANOS = 100_000_000L; // Token bucket capacity, in time
+
+    private final String mode;
+    private final double meanIntervalNanos;
+    private final int burstLimit;
+    private long nextArrival; // System.nanoTime() of the next event
+    private boolean started = false;
+
+    public ArrivalPacer(double ratePerSecond, String mode) {
+        this.mode = mode;
+        this.meanIntervalNanos = NANOS_PER_SECOND / ratePerSecond;
+        this.burstLimit = (int) Math.max(1, BURST_WINDOW_NANOS / meanIntervalNanos);
+    }
+
+    public static boolean isKnownMode(String mode) {
+        return FIXED.equals(mode) || JITTERED.equals(mode) || POISSON.equals(mode);
+    }
+
+    public long getMeanIntervalNanos() {
+        return (long) meanIntervalNanos;
+    }
+
+    public int acquire(long now) { // Events due at now, the first call is always due
+        if (!started) {
+            started = true;
+            nextArrival = now;
+        }
+        int due = 0;
+        while (nextArrival <= now && due < burstLimit) {
+            due++;
+            nextArrival += nextGap();
+        }
+        if (nextArrival <= now) {
+            nextArrival = now + nextGap(); // Bucket full, arrivals beyond it are dropped
+        }
+        return due;
+    }
+
+    public long nanosUntilNext(long now) {
+        return started ? Math.max(0, nextArrival - now) : 0;
+    }
+
+    public int awaitArrivals() throws InterruptedException { // Sleeps until at least one event is due
+        long wait;
+        while ((wait = nanosUntilNext(System.nanoTime())) > 0) {
+            Thread.sleep(Duration.ofNanos(wait));
+        }
+        return acquire(System.nanoTime());
+    }
+
+    private long nextGap() {
+        double gap = switch (mode) {
+            case JITTERED -> meanIntervalNanos * (0.5 + ThreadLocalRandom.current().nextDouble());
+            case POISSON -> -meanIntervalNanos * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+            default -> meanIntervalNanos;
+        };
+        return Math.max(1, (long) gap);
+    }
+}
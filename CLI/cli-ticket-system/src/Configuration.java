@@ -4,16 +4,30 @@ import com.google.gson.GsonBuilder;
 import java.io.*;
 
 public class Configuration {
+    private static final int DEFAULT_REPORT_INTERVAL_SECONDS = 5;
+
     private int totalTickets;
-    private int ticketReleaseRate;
-    private int customerRetrievalRate;
+    private int ticketReleaseRate; // Seconds between releases, used when ticketReleasesPerSecond is not set
+    private int customerRetrievalRate; // Seconds between attempts, used when customerRetrievalsPerSecond is not set
     private int maxTicketCapacity;
+    private String poolType; // TicketPool implementation, "ring-buffer", "synchronized" or "sharded"
+    private boolean quietMode; // Periodic rate summaries instead of one console line per ticket
+    private int reportIntervalSeconds; // Summary interval in quiet mode
+    private String actorRuntime; // How vendors and customers run, "platform", "virtual" or "scheduled"
+    private double ticketReleasesPerSecond; // Per vendor, may be fractional or above 1
+    private double customerRetrievalsPerSecond; // Per customer
+    private String arrivalMode; // Spacing of events, "fixed", "jittered" or "poisson"
+    private int maxTicketsPerCustomer; // 0 means no limit
 
     public Configuration(int totalTickets, int ticketReleaseRate, int customerRetrievalRate, int maxTicketCapacity) {
         this.totalTickets = totalTickets;
         this.ticketReleaseRate = ticketReleaseRate;
         this.customerRetrievalRate = customerRetrievalRate;
         this.maxTicketCapacity = maxTicketCapacity;
+        this.poolType = TicketPool.RING_BUFFER;
+        this.reportIntervalSeconds = DEFAULT_REPORT_INTERVAL_SECONDS;
+        this.actorRuntime = ActorRuntime.VIRTUAL;
+        this.arrivalMode = ArrivalPacer.FIXED;
     }
 
     public int getTotalTickets() {
@@ -32,6 +46,76 @@ public class Configuration {
         return maxTicketCapacity;
     }
 
+    public String getPoolType() {
+        return poolType != null ? poolType : TicketPool.RING_BUFFER; // Missing from older config files
+    }
+
+    public boolean isQuietMode() {
+        return quietMode;
+    }
+
+    public int getReportIntervalSeconds() {
+        return reportIntervalSeconds > 0 ? reportIntervalSeconds : DEFAULT_REPORT_INTERVAL_SECONDS;
+    }
+
+    public String getActorRuntime() {
+        return actorRuntime != null ? actorRuntime : ActorRuntime.VIRTUAL; // Missing from older config files
+    }
+
+    public double getTicketReleasesPerSecond() {
+        return ticketReleasesPerSecond > 0 ? ticketReleasesPerSecond : 1.0 / ticketReleaseRate;
+    }
+
+    public double getCustomerRetrievalsPerSecond() {
+        return customerRetrievalsPerSecond > 0 ? customerRetrievalsPerSecond : 1.0 / customerRetrievalRate;
+    }
+
+    public void setTicketReleasesPerSecond(double ticketReleasesPerSecond) { // 0 falls back to ticketReleaseRate
+        this.ticketReleasesPerSecond = ticketReleasesPerSecond;
+    }
+
+    public void setCustomerRetrievalsPerSecond(double customerRetrievalsPerSecond) { // 0 falls back to customerRetrievalRate
+        this.customerRetrievalsPerSecond = customerRetrievalsPerSecond;
+    }
+
+    public String getArrivalMode() {
+        return arrivalMode != null ? arrivalMode : ArrivalPacer.FIXED; // Missing from older config files
+    }
+
+    public void setArrivalMode(String arrivalMode) {
+        this.arrivalMode = arrivalMode;
+    }
+
+    public int getMaxTicketsPerCustomer() {
+        return maxTicketsPerCustomer;
+    }
+
+    public String validate() { // Returns the first problem found, or null if the configuration is usable
+        if (totalTickets <= 0 || maxTicketCapacity <= 0) {
+            return "totalTickets and maxTicketCapacity must be positive.";
+        }
+        if (!isValidRate(ticketReleasesPerSecond, ticketReleaseRate)) {
+            return "Set a positive ticketReleaseRate (seconds) or ticketReleasesPerSecond up to " + (long) ArrivalPacer.MAX_RATE + ".";
+        }
+        if (!isValidRate(customerRetrievalsPerSecond, customerRetrievalRate)) {
+            return "Set a positive customerRetrievalRate (seconds) or customerRetrievalsPerSecond up to " + (long) ArrivalPacer.MAX_RATE + ".";
+        }
+        if (!ArrivalPacer.isKnownMode(getArrivalMode())) {
+            return "arrivalMode must be fixed, jittered or poisson.";
+        }
+        if (maxTicketsPerCustomer < 0) {
+            return "maxTicketsPerCustomer cannot be negative, use 0 for no limit.";
+        }
+        return null;
+    }
+
+    private static boolean isValidRate(double perSecond, int intervalSeconds) {
+        if (perSecond != 0) {
+            return perSecond > 0 && perSecond <= ArrivalPacer.MAX_RATE; // Also false for NaN
+        }
+        return intervalSeconds > 0;
+    }
+
     public void saveConfiguration(String filePath) { // Save configuration as JSON file
         try (Writer writer = new FileWriter(filePath)) {
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
@@ -46,6 +130,11 @@ public class Configuration {
         try (Reader reader = new FileReader(filePath)) {
             Gson gson = new Gson();
             Configuration config = gson.fromJson(reader, Configuration.class);
+            String problem = config != null ? config.validate() : "the file is empty.";
+            if (problem != null) {
+                System.out.println("Invalid configuration: " + problem);
+                return null;
+            }
             System.out.println("Configuration loaded successfully from JSON.");
             return config;
         } catch (IOException e) {
@@ -58,8 +147,13 @@ public class Configuration {
     public String toString() {
         return "Configuration:\n" +
                 "Total Tickets: " + totalTickets + "\n" +
-                "Ticket Release Rate (s): " + ticketReleaseRate + "\n" +
-                "Customer Retrieval Rate (s): " + customerRetrievalRate + "\n" +
-                "Max Ticket Capacity: " + maxTicketCapacity;
+                "Ticket Releases/s: " + getTicketReleasesPerSecond() + "\n" +
+                "Customer Retrievals/s: " + getCustomerRetrievalsPerSecond() + "\n" +
+                "Arrival Mode: " + getArrivalMode() + "\n" +
+                "Max Tickets per Customer: " + maxTicketsPerCustomer + "\n" +
+                "Max Ticket Capacity: " + maxTicketCapacity + "\n" +
+                "Ticket Pool: " + getPoolType() + "\n" +
+                "Quiet Mode: " + quietMode + "\n" +
+                "Actor Runtime: " + getActorRuntime();
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+// Verbose mode: one console line and one log line per pool event
+public class ConsoleTicketPoolListener implements TicketPoolListener {
+    private final LogAppender logWriter;
+
+    public ConsoleTicketPoolListener(LogAppender logWriter) {
+        this.logWriter = logWriter;
+    }
+
+    @Override
+    public void ticketsAdded(int vendorId, long firstTicket, int count, int poolSize) {
+        System.out.println("Vendor-" + vendorId + " added " + count + " tickets. Current total: " + poolSize);
+        logWriter.log("[INFO]", "Vendor-" + vendorId + " added " + count + " tickets.");
+    }
+
+    @Override
+    public void ticketSold(int customerId, long ticket, int poolSize) {
+        System.out.println("Customer-" + customerId + " purchased " + TicketPool.label(ticket) + ". Remaining: " + poolSize);
+        logWriter.log("[INFO]", "Customer-" + customerId + " purchased " + TicketPool.label(ticket) + ".");
+    }
+
+    @Override
+    public void poolFull(int vendorId) {
+        logWriter.log("[WARNING]", "Vendor-" + vendorId + ": Cannot add more tickets. Ticket pool is full. Waiting for space...");
+        System.out.println("Vendor-" + vendorId + ": Cannot add more tickets. Ticket pool is full. Waiting for space...");
+    }
+
+    @Override
+    public void poolEmpty(int customerId) {
+        logWriter.log("[WARNING]", "Customer-" + customerId + " tried to purchase a ticket, but no tickets were available.");
+        System.out.println("Customer-" + customerId + ": No tickets available. Waiting...");
+    }
+
+    @Override
+    public void totalLimitReached(int vendorId) {
+        logWriter.log("[INFO]", "Vendor-" + vendorId + ": Total ticket limit reached. Cannot add more tickets.");
+        System.out.println("Vendor-" + vendorId + ": Total ticket limit reached. Cannot add more tickets.");
+    }
+
+    @Override
+    public void soldOut() {
+        logWriter.log("[INFO]", "All tickets have been sold.");
+        System.out.println("All tickets have been sold.");
+    }
+}
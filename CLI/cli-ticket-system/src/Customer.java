@@ -1,28 +1,29 @@
-import java.io.BufferedWriter;
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public class Customer implements Runnable {
     private final TicketPool ticketPool;
-    private final int retrievalInterval;
+    private final ArrivalPacer pacer;
     private final int customerId;
-    private final BufferedWriter logWriter;
+    private final LogAppender logWriter;
+    private volatile CompletableFuture<Long> pendingPurchase; // Scheduled runtime: the purchase parked in the pool
 
-    public Customer(TicketPool ticketPool, int retrievalInterval, int customerId, BufferedWriter logWriter) {
+    public Customer(TicketPool ticketPool, ArrivalPacer pacer, int customerId, LogAppender logWriter) {
         this.ticketPool = ticketPool; // Set TicketPool object
-        this.retrievalInterval = retrievalInterval; // Set the interval for ticket retrieval
+        this.pacer = pacer; // Set the retrieval rate and arrival mode
         this.customerId = customerId; // Set the customer ID
         this.logWriter = logWriter; // Set the log writer for customer actions
     }
 
     @Override
-    public void run() {
+    public void run() { // Thread runtimes: the customer loops on its own thread and waits for tickets
         try {
             while (true) { // Customer tries to purchase a ticket from the pool
-                String ticket = ticketPool.removeTicket(customerId, logWriter);
-                if (ticket != null) {
-                    logAction("[INFO]", "Customer-" + customerId + " purchased " + ticket + ".");
+                int attempts = pacer.awaitArrivals(); // Wait for the next attempt, or several if waiting made us late
+                for (int i = 0; i < attempts; i++) {
+                    if (!recordPurchase(ticketPool.removeTicket(customerId))) {
+                        return; // Sold out or at the per-customer limit
+                    }
                 }
-                Thread.sleep(retrievalInterval * 1000L); // Wait for the next attempt
             }
         } catch (InterruptedException e) {
             logAction("[INFO]", "Customer-" + customerId + " stopped.");
@@ -30,13 +31,48 @@ public class Customer implements Runnable {
         }
     }
 
-    private void logAction(String level, String message) { // Logs the action of the customer
-        String logEntry = String.format("[%tF %<tT] %s %s%n", System.currentTimeMillis(), level, message);
-        try {
-            logWriter.write(logEntry);
-            logWriter.flush();
-        } catch (IOException e) {
-            System.out.println("Error logging customer action: " + e.getMessage());
+    public CompletableFuture<Boolean> purchaseAsync(int attempts) { // Scheduled runtime: waits without a thread, false when done buying
+        CompletableFuture<Boolean> result = CompletableFuture.completedFuture(true);
+        for (int i = 0; i < attempts; i++) {
+            result = result.thenCompose(more -> {
+                if (!more) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                CompletableFuture<Long> purchase = ticketPool.removeTicketAsync(customerId);
+                pendingPurchase = purchase;
+                return purchase.thenApply(this::recordPurchase);
+            });
+        }
+        return result;
+    }
+
+    public void cancelPurchase() { // Takes the customer out of the pool's waiting list
+        CompletableFuture<Long> purchase = pendingPurchase;
+        if (purchase != null) {
+            purchase.cancel(false);
+        }
+    }
+
+    public ArrivalPacer getPacer() {
+        return pacer;
+    }
+
+    private boolean recordPurchase(long ticket) { // False once the customer can buy nothing more
+        if (ticket == TicketPool.SOLD_OUT) {
+            logAction("[INFO]", "Customer-" + customerId + " left, tickets are sold out.");
+            return false;
+        }
+        if (ticket == TicketPool.LIMIT_REACHED) {
+            logAction("[INFO]", "Customer-" + customerId + " left with the maximum number of tickets per customer.");
+            return false;
         }
+        if (ticket != TicketPool.NO_TICKET) {
+            logAction("[INFO]", "Customer-" + customerId + " purchased " + TicketPool.label(ticket) + ".");
+        }
+        return true;
+    }
+
+    private void logAction(String level, String message) { // Logs the action of the customer
+        logWriter.log(level, message);
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Background log writer: callers only enqueue, one thread formats and writes the lines and flushes them
+// in groups (every FLUSH_LINES lines or FLUSH_INTERVAL_MS), so no actor ever waits for the disk.
+// The queue holds at most capacity entries; past that new entries are dropped and counted, and the writer
+// logs how many were lost once it catches up.
+public class LogAppender implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 100_000;
+    private static final int FLUSH_LINES = 256;
+    private static final long FLUSH_INTERVAL_MS = 200;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("'['yyyy-MM-dd HH:mm:ss'] '")
+            .withZone(ZoneId.systemDefault());
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>(); // Lock-free, bounded by queued
+    private final int capacity;
+    private final AtomicInteger queued = new AtomicInteger(0);
+    private final AtomicLong dropped = new AtomicLong(0);
+    private final BufferedWriter writer;
+    private final Thread writerThread;
+    private final AtomicLong appended = new AtomicLong(0);
+    private final AtomicInteger flushWaiters = new AtomicInteger(0); // Callers blocked in flush()
+    private volatile long written = 0; // Entries written and flushed, only advanced by the writer thread
+    private volatile boolean running = true;
+
+    private long cachedSecond = -1; // Writer thread only: the timestamp prefix is formatted once per second
+    private String cachedPrefix = "";
+    private long reportedDrops = 0; // Writer thread only
+
+    public LogAppender(Writer out) {
+        this(out, DEFAULT_CAPACITY);
+    }
+
+    public LogAppender(Writer out, int capacity) {
+        this.capacity = capacity;
+        this.writer = out instanceof BufferedWriter buffered ? buffered : new BufferedWriter(out);
+        this.writerThread = new Thread(this::writeLoop, "cli-log-appender");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public void log(String level, String message) { // level such as "[INFO]", or null for plain system messages
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet(); // The writer has fallen behind, keep actors running rather than waiting for it
+            return;
+        }
+        queue.offer(new Entry(System.currentTimeMillis(), level, message));
+        appended.incrementAndGet();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public void flush() { // Blocks until everything logged so far is on disk
+        long target = appended.get();
+        flushWaiters.incrementAndGet();
+        try {
+            while (written < target && writerThread.isAlive()) {
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        } finally {
+            flushWaiters.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Error closing log file: " + e.getMessage());
+        }
+    }
+
+    private void writeLoop() {
+        long unflushed = 0;
+        long lastFlush = System.currentTimeMillis();
+        while (true) {
+            boolean stopping = !running; // Read before draining, so nothing logged before close() is missed
+            Entry entry;
+            while ((entry = queue.poll()) != null) {
+                queued.decrementAndGet();
+                write(entry);
+                unflushed++;
+                if (unflushed >= FLUSH_LINES) {
+                    unflushed = flush(unflushed);
+                    lastFlush = System.currentTimeMillis();
+                }
+            }
+            boolean warned = reportDrops();
+            if (warned || unflushed > 0 && (stopping || flushWaiters.get() > 0
+                    || System.currentTimeMillis() - lastFlush >= FLUSH_INTERVAL_MS)) {
+                unflushed = flush(unflushed);
+                lastFlush = System.currentTimeMillis();
+            }
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS / 4));
+        }
+    }
+
+    private boolean reportDrops() { // Written after the queue is drained, so the line shows where entries went missing
+        long drops = dropped.get();
+        if (drops == reportedDrops) {
+            return false;
+        }
+        write(new Entry(System.currentTimeMillis(), "[WARNING]",
+                (drops - reportedDrops) + " log entries dropped, the log writer fell behind"));
+        reportedDrops = drops;
+        return true;
+    }
+
+    private void write(Entry entry) {
+        long second = entry.time / 1000;
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedPrefix = TIMESTAMP.format(Instant.ofEpochMilli(entry.time));
+        }
+        try {
+            writer.write(cachedPrefix);
+            if (entry.level != null) {
+                writer.write(entry.level);
+                writer.write(' ');
+            }
+            writer.write(entry.message);
+            writer.newLine();
+        } catch (IOException e) {
+            System.out.println("Error writing log entry: " + e.getMessage());
+        }
+    }
+
+    private long flush(long lines) {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Error flushing log file: " + e.getMessage());
+        }
+        written += lines;
+        return 0;
+    }
+
+    private record Entry(long time, String level, String message) {
+    }
+}
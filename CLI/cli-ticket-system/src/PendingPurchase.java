@@ -0,0 +1,103 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A customer waiting in a pool's waiting room, completed with a ticket or SOLD_OUT. Cancelling it, or completing it
+// from outside (orTimeout, complete), first withdraws it from the queue; once the pool has started serving it that
+// waits, without spinning, for the outcome and fails if a ticket was handed over, so a ticket is never given to a customer who left.
+public class PendingPurchase extends CompletableFuture<Long> {
+    private static final int WAITING = 0;
+    private static final int SERVING = 1; // A vendor is taking a ticket for it
+    private static final int DONE = 2; // Served, sold out or withdrawn
+
+    private final AbstractTicketPool pool;
+    private final int customerId;
+    private final long joinedNanos = System.nanoTime();
+    private final AtomicInteger state = new AtomicInteger(WAITING); // Stands in for a lock around the queue
+    private final Object served = new Object(); // withdraw() waits on it while this purchase is being served
+    private volatile boolean withdrawWaiting = false;
+
+    PendingPurchase(AbstractTicketPool pool, int customerId) {
+        this.pool = pool;
+        this.customerId = customerId;
+    }
+
+    int getCustomerId() {
+        return customerId;
+    }
+
+    long getJoinedNanos() {
+        return joinedNanos;
+    }
+
+    boolean beginServing() {
+        return state.compareAndSet(WAITING, SERVING);
+    }
+
+    void endServing() { // No ticket after all, back to waiting
+        state.set(WAITING);
+        servingEnded();
+    }
+
+    void deliver(long ticket) { // Caller is serving it
+        state.set(DONE);
+        super.complete(ticket);
+        servingEnded();
+    }
+
+    private void servingEnded() {
+        if (withdrawWaiting) { // Checked after the state change, withdraw() sets it before checking the state
+            synchronized (served) {
+                served.notifyAll();
+            }
+        }
+    }
+
+    private boolean withdraw() {
+        while (true) {
+            int current = state.get();
+            if (current == DONE) {
+                return false;
+            }
+            if (current == WAITING) {
+                if (state.compareAndSet(WAITING, DONE)) {
+                    pool.withdrawn(this);
+                    return true;
+                }
+            } else {
+                awaitServing();
+            }
+        }
+    }
+
+    private void awaitServing() { // Uninterruptible, the outcome is one take() away
+        boolean interrupted = false;
+        synchronized (served) {
+            withdrawWaiting = true;
+            while (state.get() == SERVING) {
+                try {
+                    served.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean complete(Long value) {
+        return withdraw() && super.complete(value);
+    }
+
+    @Override
+    public boolean completeExceptionally(Throwable ex) {
+        return withdraw() && super.completeExceptionally(ex);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return withdraw() && super.cancel(mayInterruptIfRunning);
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded multi-producer/multi-consumer ring buffer. Vendors and customers only touch atomics; customers who find
+// it empty wait in the waiting room inherited from AbstractTicketPool.
+public class RingBufferTicketPool extends AbstractTicketPool {
+    private final TicketRing ring;
+
+    private final int maxCapacity;
+    private final int totalTickets;
+    private final AtomicInteger ticketCount = new AtomicInteger(0); // Slots claimed by vendors, never above maxCapacity
+    private final AtomicInteger totalTicketsAdded = new AtomicInteger(0); // Also the last ticket number
+
+    public RingBufferTicketPool(int maxCapacity, int totalTickets, int maxTicketsPerCustomer, TicketPoolListener listener) {
+        super(maxTicketsPerCustomer, listener);
+        this.maxCapacity = maxCapacity; // Set maximum capacity of the pool
+        this.totalTickets = totalTickets; // Set total tickets for the system
+        this.ring = new TicketRing(maxCapacity);
+    }
+
+    @Override
+    public boolean addTickets(int numTickets, int vendorId) {
+        if (totalTicketsAdded.get() >= totalTickets) {
+            listener.totalLimitReached(vendorId);
+            checkSoldOut();
+            return false; // No more tickets can be added
+        }
+
+        int reserved = reserveSlots(numTickets);
+        if (reserved == 0) {
+            listener.poolFull(vendorId);
+            return true;
+        }
+
+        int first = issueTicketNumbers(reserved);
+        int ticketsToAdd = first < 0 ? 0 : Math.min(reserved, totalTickets - first + 1);
+        if (ticketsToAdd < reserved) {
+            ticketCount.addAndGet(ticketsToAdd - reserved); // Another vendor took the last ticket numbers
+        }
+        if (ticketsToAdd == 0) {
+            listener.totalLimitReached(vendorId);
+            checkSoldOut();
+            return false;
+        }
+
+        for (int i = 0; i < ticketsToAdd; i++) {
+            ring.put(first + i);
+        }
+        listener.ticketsAdded(vendorId, first, ticketsToAdd, ticketCount.get());
+        ticketsAdded();
+        return true;
+    }
+
+    @Override
+    public int getTicketCount() {
+        return ticketCount.get();
+    }
+
+    private int reserveSlots(int requested) { // Returns how many slots were claimed, possibly 0
+        while (true) {
+            int current = ticketCount.get();
+            int granted = Math.min(requested, maxCapacity - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (ticketCount.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    private int issueTicketNumbers(int requested) { // Returns the first new ticket number, or -1 once the total is reached
+        while (true) {
+            int current = totalTicketsAdded.get();
+            int granted = Math.min(requested, totalTickets - current);
+            if (granted <= 0) {
+                return -1;
+            }
+            if (totalTicketsAdded.compareAndSet(current, current + granted)) {
+                return current + 1;
+            }
+        }
+    }
+
+    @Override
+    protected boolean isExhausted() {
+        return totalTicketsAdded.get() >= totalTickets && ticketCount.get() == 0; // Reserved slots count until taken
+    }
+
+    @Override
+    protected long take(int customerId) { // NO_TICKET if no ticket is ready
+        long ticket = ring.take();
+        if (ticket != NO_TICKET) {
+            ticketCount.decrementAndGet();
+        }
+        return ticket;
+    }
+}
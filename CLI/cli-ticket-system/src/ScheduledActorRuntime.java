@@ -0,0 +1,91 @@
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Every actor is a self-rescheduling task on a few timer threads, so an idle actor costs one queued task instead of a thread.
+// Customers waiting for a ticket are parked in the pool as futures rather than holding a timer thread.
+public class ScheduledActorRuntime implements ActorRuntime {
+    private static final long TERMINATION_TIMEOUT_MS = 5000;
+    private static final long MIN_TICK_NANOS = 1_000_000;
+
+    private final int threads;
+    private final LogAppender logWriter;
+    private ScheduledExecutorService timer;
+    private List<Customer> customers = List.of();
+    private int vendorCount;
+
+    public ScheduledActorRuntime(int threads, LogAppender logWriter) {
+        this.threads = threads;
+        this.logWriter = logWriter;
+    }
+
+    @Override
+    public void start(List<Vendor> vendors, List<Customer> customers) {
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        ScheduledExecutorService timer = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "cli-actor-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Vendor vendor : vendors) {
+            scheduleVendor(timer, vendor, 0);
+        }
+        for (Customer customer : customers) {
+            // Random start offsets spread the customers over one interval
+            long initialDelay = ThreadLocalRandom.current().nextLong(Math.max(1, customer.getPacer().getMeanIntervalNanos()));
+            scheduleCustomer(timer, customer, initialDelay);
+        }
+        this.timer = timer;
+        vendorCount = vendors.size();
+        this.customers = customers;
+    }
+
+    private static void scheduleVendor(ScheduledExecutorService timer, Vendor vendor, long delayNanos) {
+        ArrivalPacer pacer = vendor.getPacer();
+        timer.schedule(() -> {
+            if (!vendor.releaseTickets(pacer.acquire(System.nanoTime()))) {
+                return; // Total ticket limit reached
+            }
+            // Sub-millisecond rates are served in batches rather than one task per event
+            if (!timer.isShutdown()) {
+                scheduleVendor(timer, vendor, Math.max(MIN_TICK_NANOS, pacer.nanosUntilNext(System.nanoTime())));
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void scheduleCustomer(ScheduledExecutorService timer, Customer customer, long delayNanos) {
+        ArrivalPacer pacer = customer.getPacer();
+        timer.schedule(() -> {
+            // Purchases park in the pool while it is empty; the next attempt is scheduled once they complete
+            customer.purchaseAsync(pacer.acquire(System.nanoTime())).thenAccept(more -> {
+                if (more && !timer.isShutdown()) {
+                    scheduleCustomer(timer, customer, Math.max(MIN_TICK_NANOS, pacer.nanosUntilNext(System.nanoTime())));
+                }
+            });
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (timer == null) {
+            return;
+        }
+        timer.shutdownNow();
+        try {
+            timer.awaitTermination(TERMINATION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timer = null;
+        for (Customer customer : customers) {
+            customer.cancelPurchase(); // Parked purchases would otherwise take tickets after a restart
+        }
+        String message = vendorCount + " vendors and " + customers.size() + " customers stopped.";
+        customers = List.of();
+        logWriter.log("[INFO]", message); // One line instead of one per actor
+        System.out.println(message);
+    }
+}
@@ -0,0 +1,167 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Inventory split into shards, each with its own ring, slice of maxCapacity and range of ticket numbers, so vendors
+// and customers working on different shards never write the same cache lines. Vendors add to their home shard and
+// customers buy from theirs; a full or empty shard sends them on to the others, so a refusal means every shard
+// refused and the slices add up to the exact global limits. Tickets leave each shard in order, not in global order.
+public class ShardedTicketPool extends AbstractTicketPool {
+    private static final int STRIDE = 16; // Ints per shard in counters: one 64-byte cache line each
+    private static final int COUNT = 0; // Tickets in the shard, including slots reserved by vendors
+    private static final int NEXT_NUMBER = 1; // Next unissued number in the shard's range
+
+    private final int shards;
+    private final TicketRing[] rings;
+    private final int[] capacities;
+    private final int[] lastNumbers; // Last number of each shard's range
+    private final AtomicIntegerArray counters;
+    private final AtomicInteger usedUpRanges = new AtomicInteger(0); // Counted by the vendor issuing a range's last number
+    private volatile boolean allIssued = false; // Set once every range is used up, never cleared
+
+    public ShardedTicketPool(int maxCapacity, int totalTickets, int shards, int maxTicketsPerCustomer, TicketPoolListener listener) {
+        super(maxTicketsPerCustomer, listener);
+        this.shards = Math.max(1, Math.min(shards, maxCapacity)); // Every shard holds at least one ticket
+        this.rings = new TicketRing[this.shards];
+        this.capacities = new int[this.shards];
+        this.lastNumbers = new int[this.shards];
+        this.counters = new AtomicIntegerArray(this.shards * STRIDE);
+        int firstNumber = 1;
+        int emptyRanges = 0;
+        for (int shard = 0; shard < this.shards; shard++) {
+            capacities[shard] = maxCapacity / this.shards + (shard < maxCapacity % this.shards ? 1 : 0);
+            rings[shard] = new TicketRing(capacities[shard]);
+            int rangeSize = totalTickets / this.shards + (shard < totalTickets % this.shards ? 1 : 0);
+            counters.set(shard * STRIDE + NEXT_NUMBER, firstNumber);
+            lastNumbers[shard] = firstNumber + rangeSize - 1;
+            firstNumber += rangeSize;
+            emptyRanges += rangeSize == 0 ? 1 : 0;
+        }
+        usedUpRanges.set(emptyRanges);
+        allIssued = emptyRanges == this.shards;
+    }
+
+    public int getShardCount() {
+        return shards;
+    }
+
+    @Override
+    public boolean addTickets(int numTickets, int vendorId) {
+        if (allIssued) {
+            listener.totalLimitReached(vendorId);
+            checkSoldOut();
+            return false; // No more tickets can be added
+        }
+
+        int home = Math.floorMod(vendorId, shards);
+        int slotShard = home;
+        int reserved = 0;
+        for (int i = 0; i < shards && reserved == 0; i++) {
+            slotShard = (home + i) % shards;
+            reserved = reserveSlots(slotShard, numTickets);
+        }
+        if (reserved == 0) {
+            listener.poolFull(vendorId);
+            return true;
+        }
+
+        int first = -1;
+        int ticketsToAdd = 0;
+        for (int i = 0; i < shards && first < 0; i++) {
+            int numberShard = (home + i) % shards;
+            first = issueTicketNumbers(numberShard, reserved);
+            if (first >= 0) {
+                ticketsToAdd = Math.min(reserved, lastNumbers[numberShard] - first + 1);
+            }
+        }
+        if (ticketsToAdd < reserved) {
+            counters.addAndGet(slotShard * STRIDE + COUNT, ticketsToAdd - reserved); // The ranges ran short
+        }
+        if (ticketsToAdd == 0) {
+            allIssued = true; // Ranges only shrink, so seeing every one empty is final
+            listener.totalLimitReached(vendorId);
+            checkSoldOut();
+            return false;
+        }
+
+        for (int i = 0; i < ticketsToAdd; i++) {
+            rings[slotShard].put(first + i);
+        }
+        listener.ticketsAdded(vendorId, first, ticketsToAdd, poolSizeForListener());
+        ticketsAdded();
+        return true;
+    }
+
+    @Override
+    public int getTicketCount() { // Sum over the shards, exact only while the pool is quiet
+        int count = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            count += counters.get(shard * STRIDE + COUNT);
+        }
+        return count;
+    }
+
+    private int reserveSlots(int shard, int requested) { // Returns how many slots were claimed, possibly 0
+        int index = shard * STRIDE + COUNT;
+        while (true) {
+            int current = counters.get(index);
+            int granted = Math.min(requested, capacities[shard] - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (counters.compareAndSet(index, current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    private int issueTicketNumbers(int shard, int requested) { // First number granted from the shard's range, or -1
+        int index = shard * STRIDE + NEXT_NUMBER;
+        while (true) {
+            int current = counters.get(index);
+            int granted = Math.min(requested, lastNumbers[shard] - current + 1);
+            if (granted <= 0) {
+                return -1;
+            }
+            if (counters.compareAndSet(index, current, current + granted)) {
+                if (current + granted > lastNumbers[shard] && usedUpRanges.incrementAndGet() == shards) {
+                    allIssued = true; // Lets the sale of the last ticket signal the sell-out
+                }
+                return current;
+            }
+        }
+    }
+
+    @Override
+    protected boolean isExhausted() {
+        return allIssued && getTicketCount() == 0; // Reserved slots count until taken
+    }
+
+    @Override
+    protected long take(int customerId) { // Home shard first, then the others from a random start
+        int home = Math.floorMod(customerId, shards);
+        long ticket = takeFrom(home);
+        if (ticket != NO_TICKET || shards == 1) {
+            return ticket;
+        }
+        int start = ThreadLocalRandom.current().nextInt(shards); // Spreads stealing customers over the shards
+        for (int i = 0; i < shards; i++) {
+            int shard = (start + i) % shards;
+            if (shard != home && (ticket = takeFrom(shard)) != NO_TICKET) {
+                return ticket;
+            }
+        }
+        return NO_TICKET;
+    }
+
+    private long takeFrom(int shard) {
+        if (counters.get(shard * STRIDE + COUNT) == 0) {
+            return NO_TICKET; // Skips the ring's head when there is clearly nothing to take
+        }
+        long ticket = rings[shard].take();
+        if (ticket != NO_TICKET) {
+            counters.decrementAndGet(shard * STRIDE + COUNT);
+        }
+        return ticket;
+    }
+}
@@ -0,0 +1,74 @@
+// Original pool: one monitor guards the buffer. Customers who find it empty wait in the waiting room inherited from
+// AbstractTicketPool rather than on the monitor.
+public class SynchronizedTicketPool extends AbstractTicketPool {
+    private final long[] tickets; // Circular buffer of ticket numbers
+    private int head = 0; // Index of the oldest ticket
+    private int count = 0; // Tickets currently in the pool
+    private final int maxCapacity;
+    private int totalTicketsAdded = 0;
+    private final int totalTickets;
+
+    public SynchronizedTicketPool(int maxCapacity, int totalTickets, int maxTicketsPerCustomer, TicketPoolListener listener) {
+        super(maxTicketsPerCustomer, listener); // Listener is called after the monitor is released
+        this.maxCapacity = maxCapacity; // Set maximum capacity of the pool
+        this.totalTickets = totalTickets; // Set total tickets for the system
+        this.tickets = new long[Math.max(1, maxCapacity)];
+    }
+
+    @Override
+    public boolean addTickets(int numTickets, int vendorId) {
+        long firstTicket;
+        int ticketsToAdd;
+        int poolSize;
+        synchronized (this) {
+            if (totalTicketsAdded >= totalTickets) {
+                ticketsToAdd = -1; // No more tickets can be added
+            } else if (count >= maxCapacity) {
+                ticketsToAdd = 0;
+            } else {
+                ticketsToAdd = Math.min(Math.min(numTickets, totalTickets - totalTicketsAdded), maxCapacity - count);
+                for (int i = 0; i < ticketsToAdd; i++) {
+                    tickets[(head + count) % tickets.length] = totalTicketsAdded + 1;
+                    count++;
+                    totalTicketsAdded++;
+                }
+            }
+            firstTicket = totalTicketsAdded - Math.max(ticketsToAdd, 0) + 1;
+            poolSize = count;
+        }
+
+        if (ticketsToAdd < 0) {
+            listener.totalLimitReached(vendorId);
+            checkSoldOut();
+            return false;
+        }
+        if (ticketsToAdd == 0) {
+            listener.poolFull(vendorId);
+        } else {
+            listener.ticketsAdded(vendorId, firstTicket, ticketsToAdd, poolSize);
+            ticketsAdded();
+        }
+        return true;
+    }
+
+    @Override
+    protected synchronized long take(int customerId) {
+        if (count == 0) {
+            return NO_TICKET;
+        }
+        long ticket = tickets[head];
+        head = (head + 1) % tickets.length;
+        count--;
+        return ticket;
+    }
+
+    @Override
+    protected synchronized boolean isExhausted() {
+        return totalTicketsAdded >= totalTickets && count == 0;
+    }
+
+    @Override
+    public synchronized int getTicketCount() {
+        return count;
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Each vendor and customer loops on its own thread, sleeping between attempts
+public class ThreadActorRuntime implements ActorRuntime {
+    private static final long JOIN_TIMEOUT_MS = 5000;
+
+    private final Thread.Builder builder;
+    private final List<Thread> threads = new ArrayList<>();
+
+    public ThreadActorRuntime(boolean virtual) {
+        this.builder = virtual ? Thread.ofVirtual() : Thread.ofPlatform();
+    }
+
+    @Override
+    public void start(List<Vendor> vendors, List<Customer> customers) {
+        for (Vendor vendor : vendors) {
+            threads.add(builder.start(vendor));
+        }
+        for (Customer customer : customers) {
+            threads.add(builder.start(customer));
+        }
+    }
+
+    @Override
+    public void stop() {
+        for (Thread thread : threads) thread.interrupt();
+        long deadline = System.currentTimeMillis() + JOIN_TIMEOUT_MS; // Shared, not per thread, with many actors
+        for (Thread thread : threads) {
+            try {
+                thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+    }
+}
@@ -1,73 +1,52 @@
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
-public class TicketPool {
-    private final List<String> tickets = new LinkedList<>(); // List to store tickets
-    private final int maxCapacity;
-    private int totalTicketsAdded = 0;
-    private final int totalTickets;
+public interface TicketPool {
+    String RING_BUFFER = "ring-buffer";
+    String SYNCHRONIZED = "synchronized";
+    String SHARDED = "sharded";
+    long NO_TICKET = -1; // Returned when no ticket is ready: empty pool, timeout or interrupt
+    long SOLD_OUT = -2; // Returned once every ticket has been sold, no more will ever arrive
+    long LIMIT_REACHED = -3; // The customer already holds the maximum number of tickets per customer
 
-    public TicketPool(int maxCapacity, int totalTickets) {
-        this.maxCapacity = maxCapacity; // Set maximum capacity of the pool
-        this.totalTickets = totalTickets; // Set total tickets for the system
+    boolean addTickets(int numTickets, int vendorId); // False once the total ticket limit is reached
+
+    long removeTicket(int customerId, long timeout, TimeUnit unit); // Waits up to timeout for a ticket
+
+    default long removeTicket(int customerId) { // Waits in the queue until served, sold out or interrupted
+        return removeTicket(customerId, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
     }
 
-    public synchronized boolean addTickets(int numTickets, int vendorId, BufferedWriter logWriter) {
-        if (totalTicketsAdded >= totalTickets) {
-            logAction(logWriter, "[INFO]", "Vendor-" + vendorId + ": Total ticket limit reached. Cannot add more tickets.");
-            System.out.println("Vendor-" + vendorId + ": Total ticket limit reached. Cannot add more tickets.");
-            return false; // No more tickets can be added
-        }
+    long tryRemoveTicket(int customerId); // Never waits
 
-        if (tickets.size() >= maxCapacity) {
-            logAction(logWriter, "[WARNING]", "Vendor-" + vendorId + ": Cannot add more tickets. Ticket pool is full. Waiting for space...");
-            System.out.println("Vendor-" + vendorId + ": Cannot add more tickets. Ticket pool is full. Waiting for space...");
-            return true;
-        }
+    // Completes with a ticket, SOLD_OUT or LIMIT_REACHED. While the pool is empty the customer waits in the pool's
+    // FIFO waiting room, not on a thread; cancel the future to give up waiting.
+    CompletableFuture<Long> removeTicketAsync(int customerId);
 
-        int ticketsToAdd = Math.min(numTickets, totalTickets - totalTicketsAdded);
-        for (int i = 0; i < ticketsToAdd; i++) {
-            tickets.add("Ticket-" + (totalTicketsAdded + 1));
-            totalTicketsAdded++;
-        }
-        System.out.println("Vendor-" + vendorId + " added " + ticketsToAdd + " tickets. Current total: " + tickets.size());
-        logAction(logWriter, "[INFO]", "Vendor-" + vendorId + " added " + ticketsToAdd + " tickets.");
-        notifyAll();
-        return true; // Notify waiting threads
-    }
+    boolean isSoldOut();
 
-    public synchronized String removeTicket(int customerId, BufferedWriter logWriter) {
-        while (tickets.isEmpty()) {
-            logAction(logWriter, "[WARNING]", "Customer-" + customerId + " tried to purchase a ticket, but no tickets were available.");
-            System.out.println("Customer-" + customerId + ": No tickets available. Waiting...");
-            try {
-                wait(); // Wait if there are no tickets
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return null;
-            }
-        }
+    int getTicketCount();
 
-        String ticket = tickets.remove(0);
-        System.out.println("Customer-" + customerId + " purchased " + ticket + ". Remaining: " + tickets.size());
-        logAction(logWriter, "[INFO]", "Customer-" + customerId + " purchased " + ticket + ".");
-        notifyAll(); // Notify other threads
-        return ticket;
+    static String label(long ticketNumber) { // Tickets are plain numbers inside the pool, "Ticket-N" only for display
+        return "Ticket-" + ticketNumber;
     }
 
-    private void logAction(BufferedWriter logWriter, String level, String message) {
-        String logEntry = String.format("[%tF %<tT] %s %s%n", System.currentTimeMillis(), level, message);
-        try {
-            logWriter.write(logEntry);
-            logWriter.flush();
-        } catch (IOException e) {
-            System.out.println("Error logging pool action: " + e.getMessage());
-        }
+    static TicketPool create(String poolType, int maxCapacity, int totalTickets) { // Without event reporting or limits
+        return create(poolType, maxCapacity, totalTickets, 0, TicketPoolListener.NONE);
     }
 
-    public synchronized int getTicketCount() {
-        return tickets.size();
+    // Selected by poolType in config.json; maxTicketsPerCustomer 0 means no limit
+    static TicketPool create(String poolType, int maxCapacity, int totalTickets, int maxTicketsPerCustomer, TicketPoolListener listener) {
+        if (SYNCHRONIZED.equals(poolType)) {
+            return new SynchronizedTicketPool(maxCapacity, totalTickets, maxTicketsPerCustomer, listener);
+        }
+        if (SHARDED.equals(poolType)) { // One shard per CPU
+            return new ShardedTicketPool(maxCapacity, totalTickets, Runtime.getRuntime().availableProcessors(),
+                    maxTicketsPerCustomer, listener);
+        }
+        if (!RING_BUFFER.equals(poolType)) {
+            System.out.println("Unknown ticket pool type '" + poolType + "', using " + RING_BUFFER + ".");
+        }
+        return new RingBufferTicketPool(maxCapacity, totalTickets, maxTicketsPerCustomer, listener);
     }
-}
\ No newline at end of file
+}
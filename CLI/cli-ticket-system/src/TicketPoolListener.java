@@ -0,0 +1,34 @@
+// Events raised by a TicketPool, always outside any lock the pool holds
+public interface TicketPoolListener {
+    TicketPoolListener NONE = new TicketPoolListener() {
+        @Override
+        public boolean usesPoolSize() {
+            return false;
+        }
+    };
+
+    default boolean usesPoolSize() { // False lets a sharded pool skip summing its shards for every event
+        return true;
+    }
+
+    default void ticketsAdded(int vendorId, long firstTicket, int count, int poolSize) {
+    }
+
+    default void ticketSold(int customerId, long ticket, int poolSize) {
+    }
+
+    default void poolFull(int vendorId) { // The vendor's tickets were not added
+    }
+
+    default void poolEmpty(int customerId) { // The customer is about to wait for a ticket
+    }
+
+    default void totalLimitReached(int vendorId) {
+    }
+
+    default void customerWaited(int customerId, long waitNanos) { // A queued customer was served after waiting this long
+    }
+
+    default void soldOut() { // Raised once, when the last ticket is sold; waiting customers are released with SOLD_OUT
+    }
+}
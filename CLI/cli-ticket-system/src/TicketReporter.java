@@ -0,0 +1,137 @@
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+// Quiet mode: pool events only bump counters, and a timer prints one summary line per interval
+public class TicketReporter implements TicketPoolListener {
+    private final LogAppender logWriter;
+    private final int intervalSeconds;
+    private final LongAdder added = new LongAdder(); // Striped, vendors and customers never contend on one counter
+    private final LongAdder sold = new LongAdder();
+    private final LongAdder fullRejections = new LongAdder();
+    private final LongAdder emptyWaits = new LongAdder();
+    private final AtomicBoolean limitReported = new AtomicBoolean(false);
+    private final WaitTimeStats waitTimes = new WaitTimeStats(); // Customers served from the waiting room
+
+    private ScheduledExecutorService timer;
+    private IntSupplier poolDepth = () -> 0;
+    private long lastAdded;
+    private long lastSold;
+    private long lastReportNanos;
+
+    public TicketReporter(LogAppender logWriter, int intervalSeconds) {
+        this.logWriter = logWriter;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public synchronized void start(IntSupplier poolDepth) {
+        if (timer != null) {
+            return; // Already reporting
+        }
+        this.poolDepth = poolDepth;
+        lastAdded = added.sum();
+        lastSold = sold.sum();
+        lastReportNanos = System.nanoTime();
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cli-ticket-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() { // Prints a final line covering the time since the last report
+        if (timer == null) {
+            return;
+        }
+        timer.shutdownNow();
+        timer = null;
+        report();
+        reportWaitTimes();
+    }
+
+    @Override
+    public void ticketsAdded(int vendorId, long firstTicket, int count, int poolSize) {
+        added.add(count);
+    }
+
+    @Override
+    public void ticketSold(int customerId, long ticket, int poolSize) {
+        sold.increment();
+    }
+
+    @Override
+    public void poolFull(int vendorId) {
+        fullRejections.increment();
+    }
+
+    @Override
+    public void poolEmpty(int customerId) {
+        emptyWaits.increment();
+    }
+
+    @Override
+    public void totalLimitReached(int vendorId) {
+        if (limitReported.compareAndSet(false, true)) { // Every vendor hits it, report it once
+            String message = "Total ticket limit reached after " + added.sum() + " tickets.";
+            System.out.println(message);
+            logWriter.log("[INFO]", message);
+        }
+    }
+
+    @Override
+    public boolean usesPoolSize() {
+        return false; // Pool depth is sampled by the report timer
+    }
+
+    @Override
+    public void customerWaited(int customerId, long waitNanos) {
+        waitTimes.record(customerId, waitNanos);
+    }
+
+    @Override
+    public void soldOut() {
+        String message = "All " + sold.sum() + " tickets have been sold.";
+        System.out.println(message);
+        logWriter.log("[INFO]", message);
+    }
+
+    private synchronized void report() {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-9, (now - lastReportNanos) / 1e9);
+        long totalAdded = added.sum();
+        long totalSold = sold.sum();
+        String message = String.format("Added %.1f/s, sold %.1f/s, pool depth %d (total added %d, sold %d, pool full %d, waits %d)",
+                (totalAdded - lastAdded) / seconds, (totalSold - lastSold) / seconds, poolDepth.getAsInt(),
+                totalAdded, totalSold, fullRejections.sum(), emptyWaits.sum());
+        if (waitTimes.getCount() > 0) {
+            message += String.format(", queue wait p50 %.1fms p99 %.1fms", waitTimes.percentileMillis(50), waitTimes.percentileMillis(99));
+        }
+        lastAdded = totalAdded;
+        lastSold = totalSold;
+        lastReportNanos = now;
+        System.out.println(message);
+        logWriter.log("[INFO]", message);
+    }
+
+    private void reportWaitTimes() { // Distribution overall and across customers, so unfair service shows up
+        List<WaitTimeStats.CustomerWaitSummary> customers = waitTimes.getCustomerSummaries();
+        if (customers.isEmpty()) {
+            return;
+        }
+        WaitTimeStats.CustomerWaitSummary slowest = customers.get(0);
+        String message = String.format("Queue waits: %d served, p50 %.1fms p90 %.1fms p99 %.1fms max %.1fms; "
+                        + "mean per customer %.1fms to %.1fms (median %.1fms) over %d customers; slowest Customer-%d, %d waits, max %.1fms",
+                waitTimes.getCount(), waitTimes.percentileMillis(50), waitTimes.percentileMillis(90),
+                waitTimes.percentileMillis(99), waitTimes.getMaxMillis(),
+                customers.get(customers.size() - 1).meanMillis(), slowest.meanMillis(),
+                customers.get(customers.size() / 2).meanMillis(), customers.size(),
+                slowest.customerId(), slowest.waits(), slowest.maxMillis());
+        System.out.println(message);
+        logWriter.log("[INFO]", message);
+    }
+}
@@ -0,0 +1,48 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded multi-producer/multi-consumer ring of ticket numbers. It does not count its own capacity: callers reserve
+// a slot before put(), so the ring never overflows.
+public class TicketRing {
+    private final long[] slots; // Ticket numbers, published and freed through sequences
+    private final AtomicLongArray sequences; // Per slot: equals the position when free, position + 1 once filled
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(0); // Next position to take from
+    private final AtomicLong tail = new AtomicLong(0); // Next position to fill
+
+    public TicketRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1; // Power of two, at least capacity
+        this.slots = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public void put(long ticket) { // Caller holds a reserved slot, so the ring always has room
+        long position = tail.getAndIncrement();
+        int index = (int) position & mask;
+        while (sequences.get(index) != position) {
+            Thread.onSpinWait(); // A customer is still reading this slot from the previous lap
+        }
+        slots[index] = ticket;
+        sequences.set(index, position + 1); // Publishes the ticket, the volatile write orders the plain store above
+    }
+
+    public long take() { // NO_TICKET if no ticket is ready; the caller frees the reserved slot
+        while (true) {
+            long position = head.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence < position + 1) {
+                return TicketPool.NO_TICKET; // Empty, or the next vendor has not finished publishing
+            }
+            if (sequence == position + 1 && head.compareAndSet(position, position + 1)) {
+                long ticket = slots[index];
+                sequences.set(index, position + mask + 1); // Frees the slot for the next lap
+                return ticket;
+            }
+        }
+    }
+}
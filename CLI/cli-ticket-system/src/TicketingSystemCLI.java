@@ -1,4 +1,3 @@
-import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -10,17 +9,18 @@ public class TicketingSystemCLI {
     private static final String LOG_FILE = "system.log"; // Log file path for system activities
     private Configuration configuration; // Stores system configuration details
     private TicketPool ticketPool; // Shared ticket pool for customers and vendors
-    private List<Thread> vendorThreads = new ArrayList<>(); // List of all vendor threads
-    private List<Thread> customerThreads = new ArrayList<>(); // List of all customer threads
-    private int numVendors; // Number of vendor threads
-    private int numCustomers; // Number of customer threads
+    private TicketReporter reporter; // Prints rate summaries in quiet mode, null otherwise
+    private ActorRuntime actorRuntime; // Runs the vendors and customers while ticketing is started, null otherwise
+    private int numVendors; // Number of vendors
+    private int numCustomers; // Number of customers
 
     public static void main(String[] args) {
         new TicketingSystemCLI().run(); // Start the system by calling run method
     }
 
     public void run() {
-        try (BufferedWriter logWriter = new BufferedWriter(new FileWriter(LOG_FILE, true))) {
+        try (LogAppender logWriter = new LogAppender(new FileWriter(LOG_FILE, true))) {
+            Runtime.getRuntime().addShutdownHook(new Thread(logWriter::close)); // Drains the log on Ctrl+C too
             logMessage(logWriter, "System initiated.");
 
             Scanner scanner = new Scanner(System.in);
@@ -44,7 +44,15 @@ public class TicketingSystemCLI {
             System.out.print("Enter number of customers: ");
             numCustomers = validatePositiveInput(scanner);
 
-            ticketPool = new TicketPool(configuration.getMaxTicketCapacity(), configuration.getTotalTickets());
+            TicketPoolListener listener;
+            if (configuration.isQuietMode()) {
+                reporter = new TicketReporter(logWriter, configuration.getReportIntervalSeconds());
+                listener = reporter;
+            } else {
+                listener = new ConsoleTicketPoolListener(logWriter);
+            }
+            ticketPool = TicketPool.create(configuration.getPoolType(), configuration.getMaxTicketCapacity(),
+                    configuration.getTotalTickets(), configuration.getMaxTicketsPerCustomer(), listener);
 
             displayCurrentConfiguration(); // Display current configuration details
 
@@ -64,7 +72,7 @@ public class TicketingSystemCLI {
                     case 4 -> {
                         logMessage(logWriter, "System stopped.");
                         stopTicketing(logWriter);
-                        System.exit(0);
+                        System.exit(0); // The shutdown hook closes the log
                     }
                     default -> System.out.println("Invalid choice. Try again.");
                 }
@@ -74,11 +82,9 @@ public class TicketingSystemCLI {
         }
     }
 
-    private void logMessage(BufferedWriter logWriter, String message) throws IOException {
-        String logEntry = String.format("[%tF %<tT] %s%n", System.currentTimeMillis(), message);
-        System.out.print(logEntry);
-        logWriter.write(logEntry);
-        logWriter.flush();
+    private void logMessage(LogAppender logWriter, String message) {
+        System.out.printf("[%tF %<tT] %s%n", System.currentTimeMillis(), message);
+        logWriter.log(null, message);
     }
 
     private String getValidYesNoInput(Scanner scanner) {
@@ -105,46 +111,107 @@ public class TicketingSystemCLI {
         System.out.print("Enter customer retrieval rate (seconds): ");
         int customerRetrievalRate = validatePositiveInput(scanner);
 
+        System.out.print("Enter ticket releases per second per vendor (press Enter to use the release rate): ");
+        double ticketReleasesPerSecond = validateOptionalRateInput(scanner);
+
+        System.out.print("Enter customer retrievals per second per customer (press Enter to use the retrieval rate): ");
+        double customerRetrievalsPerSecond = validateOptionalRateInput(scanner);
+
+        System.out.print("Enter arrival mode (fixed/jittered/poisson, press Enter for fixed): ");
+        String arrivalMode = validateArrivalModeInput(scanner);
+
         System.out.print("Enter max ticket capacity: ");
         int maxTicketCapacity = validatePositiveInput(scanner);
 
-        return new Configuration(totalTickets, ticketReleaseRate, customerRetrievalRate, maxTicketCapacity);
+        Configuration config = new Configuration(totalTickets, ticketReleaseRate, customerRetrievalRate, maxTicketCapacity);
+        config.setTicketReleasesPerSecond(ticketReleasesPerSecond);
+        config.setCustomerRetrievalsPerSecond(customerRetrievalsPerSecond);
+        config.setArrivalMode(arrivalMode);
+        return config;
     }
 
     private void displayCurrentConfiguration() {
         System.out.println("\nCurrent Configuration:");
         System.out.println("Total Tickets: " + configuration.getTotalTickets());
-        System.out.println("Ticket Release Rate (s): " + configuration.getTicketReleaseRate());
-        System.out.println("Customer Retrieval Rate (s): " + configuration.getCustomerRetrievalRate());
+        System.out.println("Ticket Releases/s per Vendor: " + configuration.getTicketReleasesPerSecond());
+        System.out.println("Customer Retrievals/s per Customer: " + configuration.getCustomerRetrievalsPerSecond());
+        System.out.println("Arrival Mode: " + configuration.getArrivalMode());
+        System.out.println("Max Tickets per Customer: " + (configuration.getMaxTicketsPerCustomer() > 0
+                ? configuration.getMaxTicketsPerCustomer() : "unlimited"));
         System.out.println("Max Ticket Capacity: " + configuration.getMaxTicketCapacity());
+        System.out.println("Ticket Pool: " + configuration.getPoolType());
+        System.out.println("Quiet Mode: " + (configuration.isQuietMode()
+                ? "on, summary every " + configuration.getReportIntervalSeconds() + "s" : "off"));
+        System.out.println("Actor Runtime: " + configuration.getActorRuntime());
         System.out.println("Number of Vendors: " + numVendors);
         System.out.println("Number of Customers: " + numCustomers);
     }
 
-    private void startTicketing(BufferedWriter logWriter) throws IOException {
-        // Start vendor threads
+    private void startTicketing(LogAppender logWriter) {
+        if (actorRuntime != null) {
+            System.out.println("Ticketing is already running.");
+            return;
+        }
+        if (reporter != null) {
+            reporter.start(ticketPool::getTicketCount); // Before the actors, so the first summary covers them
+        }
+        List<Vendor> vendors = new ArrayList<>(numVendors);
         for (int i = 1; i <= numVendors; i++) {
-            Thread vendorThread = new Thread(new Vendor(ticketPool, 1, configuration.getTicketReleaseRate(), i, logWriter));
-            vendorThreads.add(vendorThread);
-            vendorThread.start();
+            vendors.add(new Vendor(ticketPool, 1,
+                    new ArrivalPacer(configuration.getTicketReleasesPerSecond(), configuration.getArrivalMode()), i, logWriter));
         }
-        // Start customer threads
+        List<Customer> customers = new ArrayList<>(numCustomers);
         for (int i = 1; i <= numCustomers; i++) {
-            Thread customerThread = new Thread(new Customer(ticketPool, configuration.getCustomerRetrievalRate(), i, logWriter));
-            customerThreads.add(customerThread);
-            customerThread.start();
+            customers.add(new Customer(ticketPool,
+                    new ArrivalPacer(configuration.getCustomerRetrievalsPerSecond(), configuration.getArrivalMode()), i, logWriter));
         }
+        actorRuntime = ActorRuntime.create(configuration.getActorRuntime(), logWriter);
+        actorRuntime.start(vendors, customers);
 
         logMessage(logWriter, "Ticketing system started with " + numVendors + " vendors and " + numCustomers + " customers.");
     }
 
-    private void stopTicketing(BufferedWriter logWriter) throws IOException {
-        // Stop all vendor and customer threads
-        for (Thread thread : vendorThreads) thread.interrupt();
-        for (Thread thread : customerThreads) thread.interrupt();
-        vendorThreads.clear();
-        customerThreads.clear();
-        logMessage(logWriter, "Ticketing system stopped. All vendor and customer threads have been terminated.");
+    private void stopTicketing(LogAppender logWriter) {
+        if (actorRuntime != null) {
+            actorRuntime.stop(); // Returns once the actors have logged their "stopped" lines
+            actorRuntime = null;
+        }
+        if (reporter != null) {
+            reporter.stop();
+        }
+        logMessage(logWriter, "Ticketing system stopped. All vendors and customers have been stopped.");
+        logWriter.flush(); // Everything logged so far is on disk before the menu returns
+    }
+
+    private double validateOptionalRateInput(Scanner scanner) { // 0 when left blank
+        while (true) {
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return 0;
+            }
+            try {
+                double rate = Double.parseDouble(input);
+                if (rate > 0 && rate <= ArrivalPacer.MAX_RATE) {
+                    return rate;
+                }
+            } catch (NumberFormatException e) {
+                // Falls through to the prompt below
+            }
+            System.out.print("Please enter a number above 0 and up to " + (long) ArrivalPacer.MAX_RATE + ", or press Enter: ");
+        }
+    }
+
+    private String validateArrivalModeInput(Scanner scanner) {
+        while (true) {
+            String input = scanner.nextLine().trim().toLowerCase();
+            if (input.isEmpty()) {
+                return ArrivalPacer.FIXED;
+            }
+            if (ArrivalPacer.isKnownMode(input)) {
+                return input;
+            }
+            System.out.print("Invalid input. Please enter 'fixed', 'jittered' or 'poisson': ");
+        }
     }
 
     private int validatePositiveInput(Scanner scanner) {
@@ -1,31 +1,26 @@
-import java.io.BufferedWriter;
-import java.io.IOException;
-
 public class Vendor implements Runnable {
     private final TicketPool ticketPool;
     private final int ticketsPerRelease;
-    private final int releaseInterval;
+    private final ArrivalPacer pacer;
     private final int vendorId;
-    private final BufferedWriter logWriter; // Log writer to write log messages to a fil
+    private final LogAppender logWriter; // Log writer to write log messages to a fil
 
-    public Vendor(TicketPool ticketPool, int ticketsPerRelease, int releaseInterval, int vendorId, BufferedWriter logWriter) {
+    public Vendor(TicketPool ticketPool, int ticketsPerRelease, ArrivalPacer pacer, int vendorId, LogAppender logWriter) {
         this.ticketPool = ticketPool; // Initialize the shared TicketPool
         this.ticketsPerRelease = ticketsPerRelease; // Number of tickets to release
-        this.releaseInterval = releaseInterval; // Release time interval (in seconds)
+        this.pacer = pacer; // Release rate and arrival mode
         this.vendorId = vendorId; // Unique identifier for the Vendor
         this.logWriter = logWriter; // Log writer for tracking activities
     }
 
     @Override
-    public void run() {
+    public void run() { // Thread runtimes: the vendor loops on its own thread
         try {
-            while (true) { // Attempt to add tickets to the TicketPool
-                if (!ticketPool.addTickets(ticketsPerRelease, vendorId, logWriter)) {
-                    logAction("[INFO]", "Vendor-" + vendorId + ": Total ticket limit reached. Cannot add more tickets.");
+            while (true) {
+                int releases = pacer.awaitArrivals(); // Wait for the release interval, sub-second rates may batch releases
+                if (!releaseTickets(releases)) {
                     break; // Stop if the total ticket limit is reached
                 }
-                logAction("[INFO]", "Vendor-" + vendorId + " released " + ticketsPerRelease + " tickets.");
-                Thread.sleep(releaseInterval * 1000L); // Wait for the specified release interval
             }
         } catch (InterruptedException e) {
             logAction("[INFO]", "Vendor-" + vendorId + " stopped.");
@@ -33,13 +28,21 @@ public class Vendor implements Runnable {
         }
     }
 
-    private void logAction(String level, String message) { // Logs the action of the Vendor
-        String logEntry = String.format("[%tF %<tT] %s %s%n", System.currentTimeMillis(), level, message);
-        try {
-            logWriter.write(logEntry);
-            logWriter.flush();
-        } catch (IOException e) {
-            System.out.println("Error logging vendor action: " + e.getMessage());
+    public boolean releaseTickets(int releases) { // Releases due at once, false once the total ticket limit is reached
+        int tickets = ticketsPerRelease * releases;
+        if (!ticketPool.addTickets(tickets, vendorId)) {
+            logAction("[INFO]", "Vendor-" + vendorId + ": Total ticket limit reached. Cannot add more tickets.");
+            return false;
         }
+        logAction("[INFO]", "Vendor-" + vendorId + " released " + tickets + " tickets.");
+        return true;
+    }
+
+    public ArrivalPacer getPacer() {
+        return pacer;
+    }
+
+    private void logAction(String level, String message) { // Logs the action of the Vendor
+        logWriter.log(level, message);
     }
 }
\ No newline at end of file
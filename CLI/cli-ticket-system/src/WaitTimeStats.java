@@ -0,0 +1,89 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Wait-time distribution, overall and per customer. Buckets are powers of two in microseconds, so percentiles are
+// upper bounds within a factor of two; recording touches only striped counters and the customer's own entry.
+public class WaitTimeStats {
+    private static final int BUCKETS = 40; // Up to about 12 days
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final Map<Integer, CustomerWaits> customers = new ConcurrentHashMap<>();
+
+    public WaitTimeStats() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(int customerId, long waitNanos) {
+        long micros = Math.max(1, waitNanos / 1000);
+        buckets[Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros))].increment();
+        maxNanos.accumulate(waitNanos);
+        customers.computeIfAbsent(customerId, id -> new CustomerWaits()).record(waitNanos);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public double percentileMillis(double percentile) { // Upper bound of the bucket holding that percentile
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return (1L << (i + 1)) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    public List<CustomerWaitSummary> getCustomerSummaries() { // Sorted by mean wait, longest first
+        List<CustomerWaitSummary> summaries = new ArrayList<>(customers.size());
+        customers.forEach((id, waits) -> summaries.add(waits.summary(id)));
+        summaries.sort(Comparator.comparingDouble(CustomerWaitSummary::meanMillis).reversed());
+        return summaries;
+    }
+
+    public record CustomerWaitSummary(int customerId, long waits, double meanMillis, double maxMillis) {
+    }
+
+    private static class CustomerWaits {
+        private final AtomicLong waits = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long waitNanos) {
+            waits.incrementAndGet();
+            totalNanos.addAndGet(waitNanos);
+            maxNanos.accumulate(waitNanos);
+        }
+
+        CustomerWaitSummary summary(int customerId) {
+            long count = waits.get();
+            return new CustomerWaitSummary(customerId, count, count == 0 ? 0 : totalNanos.get() / 1e6 / count,
+                    maxNanos.get() / 1e6);
+        }
+    }
+}
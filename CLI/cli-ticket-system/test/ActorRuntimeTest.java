@@ -0,0 +1,98 @@
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Each runtime drives the same vendors and customers to a sell-out, and stops them cleanly part way through
+class ActorRuntimeTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {ActorRuntime.PLATFORM, ActorRuntime.VIRTUAL, ActorRuntime.SCHEDULED})
+    void actorsSellEveryTicketExactlyOnce(String runtimeType) throws Exception {
+        int totalTickets = 300;
+        CountingListener listener = new CountingListener();
+        TicketPool pool = TicketPool.create(TicketPool.RING_BUFFER, 20, totalTickets, 0, listener);
+        try (LogAppender logWriter = new LogAppender(new StringWriter())) {
+            ActorRuntime runtime = ActorRuntime.create(runtimeType, logWriter);
+            runtime.start(vendors(pool, 2, logWriter), customers(pool, 6, logWriter));
+
+            assertTrue(listener.soldOut.await(20, TimeUnit.SECONDS));
+            runtime.stop();
+        }
+
+        assertEquals(totalTickets, listener.sold.size());
+        assertEquals(0, pool.getTicketCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {ActorRuntime.PLATFORM, ActorRuntime.VIRTUAL, ActorRuntime.SCHEDULED})
+    void stoppedActorsNeitherAddNorBuy(String runtimeType) throws Exception {
+        CountingListener listener = new CountingListener();
+        TicketPool pool = TicketPool.create(TicketPool.RING_BUFFER, 20, 1_000_000, 0, listener);
+        try (LogAppender logWriter = new LogAppender(new StringWriter())) {
+            ActorRuntime runtime = ActorRuntime.create(runtimeType, logWriter);
+            runtime.start(vendors(pool, 2, logWriter), customers(pool, 4, logWriter));
+            Thread.sleep(300);
+            runtime.stop();
+        }
+
+        int added = listener.added.get();
+        int sold = listener.sold.size();
+        assertTrue(added > 0 && sold > 0, added + " added, " + sold + " sold");
+        Thread.sleep(200);
+        assertEquals(added, listener.added.get());
+        assertEquals(sold, listener.sold.size());
+    }
+
+    private static List<Vendor> vendors(TicketPool pool, int count, LogAppender logWriter) {
+        List<Vendor> vendors = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            vendors.add(new Vendor(pool, 5, new ArrivalPacer(200, ArrivalPacer.FIXED), id, logWriter));
+        }
+        return vendors;
+    }
+
+    private static List<Customer> customers(TicketPool pool, int count, LogAppender logWriter) {
+        List<Customer> customers = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            customers.add(new Customer(pool, new ArrivalPacer(500, ArrivalPacer.JITTERED), id, logWriter));
+        }
+        return customers;
+    }
+
+    private static class CountingListener implements TicketPoolListener {
+        final AtomicInteger added = new AtomicInteger();
+        final Set<Long> sold = ConcurrentHashMap.newKeySet();
+        final CountDownLatch soldOut = new CountDownLatch(1);
+
+        @Override
+        public boolean usesPoolSize() {
+            return false;
+        }
+
+        @Override
+        public void ticketsAdded(int vendorId, long firstTicket, int count, int poolSize) {
+            added.addAndGet(count);
+        }
+
+        @Override
+        public void ticketSold(int customerId, long ticket, int poolSize) {
+            assertTrue(sold.add(ticket), "Ticket sold twice: " + ticket);
+        }
+
+        @Override
+        public void soldOut() {
+            soldOut.countDown();
+        }
+    }
+}
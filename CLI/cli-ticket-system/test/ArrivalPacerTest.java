@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Arrival times are checked against a made-up clock, so nothing here sleeps
+class ArrivalPacerTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void firstEventIsDueAtOnce() {
+        ArrivalPacer pacer = new ArrivalPacer(10, ArrivalPacer.FIXED);
+
+        assertEquals(0, pacer.nanosUntilNext(5 * SECOND));
+        assertEquals(1, pacer.acquire(5 * SECOND));
+        assertEquals(100 * MILLI, pacer.nanosUntilNext(5 * SECOND));
+        assertEquals(0, pacer.acquire(5 * SECOND + 99 * MILLI));
+        assertEquals(1, pacer.acquire(5 * SECOND + 100 * MILLI));
+    }
+
+    @Test
+    void subSecondRatesWaitLongerThanASecond() {
+        ArrivalPacer pacer = new ArrivalPacer(0.5, ArrivalPacer.FIXED);
+
+        assertEquals(1, pacer.acquire(0));
+        assertEquals(2 * SECOND, pacer.nanosUntilNext(0));
+        assertEquals(0, pacer.acquire(SECOND));
+        assertEquals(1, pacer.acquire(2 * SECOND));
+    }
+
+    @Test
+    void lateWakeUpsGetTheArrivalsTheyMissed() {
+        ArrivalPacer pacer = new ArrivalPacer(1000, ArrivalPacer.FIXED);
+
+        assertEquals(1, pacer.acquire(0));
+        assertEquals(50, pacer.acquire(50 * MILLI));
+
+        long total = 51;
+        for (long now = 57 * MILLI; now <= SECOND; now += 7 * MILLI) { // A coarse timer still keeps the rate
+            total += pacer.acquire(now);
+        }
+        assertEquals(996, total); // One per millisecond up to the last wake-up at 995ms
+    }
+
+    @Test
+    void burstIsCappedAtOneHundredMilliseconds() {
+        ArrivalPacer pacer = new ArrivalPacer(1000, ArrivalPacer.FIXED);
+        pacer.acquire(0);
+
+        assertEquals(100, pacer.acquire(10 * SECOND));
+        assertEquals(MILLI, pacer.nanosUntilNext(10 * SECOND)); // Missed arrivals beyond the cap are dropped
+        assertEquals(1, new ArrivalPacer(1, ArrivalPacer.FIXED).acquire(0));
+    }
+
+    @Test
+    void jitteredGapsStayWithinHalfTheMean() {
+        ArrivalPacer pacer = new ArrivalPacer(100, ArrivalPacer.JITTERED);
+        long mean = pacer.getMeanIntervalNanos();
+        long now = 0;
+        long sum = 0;
+        int samples = 10_000;
+        for (int i = 0; i < samples; i++) {
+            assertEquals(1, pacer.acquire(now));
+            long gap = pacer.nanosUntilNext(now);
+            assertTrue(gap >= mean / 2 && gap <= mean * 3 / 2, "Gap " + gap);
+            sum += gap;
+            now += gap;
+        }
+        assertEquals(mean, sum / samples, mean * 0.05);
+    }
+
+    @Test
+    void poissonGapsKeepTheMeanRate() {
+        ArrivalPacer pacer = new ArrivalPacer(100, ArrivalPacer.POISSON);
+        long mean = pacer.getMeanIntervalNanos();
+        long now = 0;
+        long sum = 0;
+        long longest = 0;
+        int samples = 20_000;
+        pacer.acquire(now);
+        for (int i = 0; i < samples; i++) {
+            long gap = pacer.nanosUntilNext(now);
+            now += Math.max(1, gap);
+            pacer.acquire(now);
+            sum += gap;
+            longest = Math.max(longest, gap);
+        }
+        assertEquals(mean, sum / samples, mean * 0.1);
+        assertTrue(longest > 3 * mean, "Longest gap " + longest);
+    }
+
+    @Test
+    void onlyTheThreeModesAreKnown() {
+        assertTrue(ArrivalPacer.isKnownMode(ArrivalPacer.FIXED));
+        assertTrue(ArrivalPacer.isKnownMode(ArrivalPacer.JITTERED));
+        assertTrue(ArrivalPacer.isKnownMode(ArrivalPacer.POISSON));
+        assertFalse(ArrivalPacer.isKnownMode("burst"));
+        assertFalse(ArrivalPacer.isKnownMode(null));
+    }
+}
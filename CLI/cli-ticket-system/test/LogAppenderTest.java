@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogAppenderTest {
+
+    @Test
+    void flushWritesEverythingLoggedSoFarInOrder() {
+        StringWriter out = new StringWriter();
+        try (LogAppender appender = new LogAppender(out)) {
+            for (int i = 0; i < 1000; i++) {
+                appender.log("[INFO]", "line " + i);
+            }
+            appender.flush();
+
+            List<String> lines = out.toString().lines().toList();
+            assertEquals(1000, lines.size());
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(lines.get(i).endsWith("[INFO] line " + i), lines.get(i));
+            }
+        }
+    }
+
+    @Test
+    void closeWritesWhatIsStillQueued() {
+        StringWriter out = new StringWriter();
+        LogAppender appender = new LogAppender(out);
+        for (int i = 0; i < 500; i++) {
+            appender.log(null, "line " + i);
+        }
+        appender.close();
+
+        assertEquals(500, out.toString().lines().count());
+    }
+
+    @Test
+    void fullQueueDropsNewEntriesAndTheWriterReportsHowMany() throws Exception {
+        BlockingWriter out = new BlockingWriter();
+        LogAppender appender = new LogAppender(out, 10);
+        appender.log("[INFO]", "first");
+        assertTrue(out.writing.await(5, TimeUnit.SECONDS)); // The writer is stuck on the first entry
+
+        for (int i = 0; i < 15; i++) {
+            appender.log("[INFO]", "queued " + i);
+        }
+        assertEquals(5, appender.getDroppedCount());
+        out.finishWrite.countDown();
+        appender.close();
+
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(12, lines.size()); // The first entry, the ten that fit and the warning
+        assertTrue(lines.get(10).endsWith("[INFO] queued 9"), lines.get(10));
+        assertTrue(lines.get(11).endsWith("[WARNING] 5 log entries dropped, the log writer fell behind"), lines.get(11));
+    }
+
+    // Stands in for a slow disk: the first write waits until the test lets it finish
+    private static class BlockingWriter extends Writer {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch finishWrite = new CountDownLatch(1);
+        private final StringBuffer text = new StringBuffer();
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            writing.countDown();
+            try {
+                finishWrite.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            text.append(chars, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
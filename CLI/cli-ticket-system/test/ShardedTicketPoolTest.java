@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedTicketPoolTest {
+
+    @Test
+    void neverHasMoreShardsThanTickets() {
+        assertEquals(3, new ShardedTicketPool(3, 100, 8, 0, TicketPoolListener.NONE).getShardCount());
+    }
+
+    @Test
+    void holdsExactlyMaxCapacityAcrossShards() {
+        ShardedTicketPool pool = new ShardedTicketPool(10, 100, 4, 0, TicketPoolListener.NONE); // Slices of 3, 3, 2, 2
+        for (int i = 0; i < 10; i++) {
+            assertTrue(pool.addTickets(1, 0)); // The home shard fills up, then the others take the rest
+        }
+        assertEquals(10, pool.getTicketCount());
+
+        assertTrue(pool.addTickets(1, 0)); // Full is not the end of the tickets
+        assertTrue(pool.addTickets(5, 2));
+        assertEquals(10, pool.getTicketCount());
+    }
+
+    @Test
+    void issuesExactlyTheTotalAcrossRanges() {
+        ShardedTicketPool pool = new ShardedTicketPool(100, 10, 4, 0, TicketPoolListener.NONE); // Ranges of 3, 3, 2, 2
+        while (pool.addTickets(2, 1)) {
+            // One vendor uses up its home range, then borrows from the others
+        }
+        assertEquals(10, pool.getTicketCount());
+
+        assertEquals(numbers(1, 10), drain(pool, 3));
+        assertTrue(pool.isSoldOut());
+    }
+
+    @Test
+    void fewerTicketsThanShardsStillSellOut() {
+        ShardedTicketPool pool = new ShardedTicketPool(8, 2, 4, 0, TicketPoolListener.NONE); // Two ranges are empty
+        assertTrue(pool.addTickets(1, 0));
+        assertTrue(pool.addTickets(1, 0));
+        assertFalse(pool.addTickets(1, 0));
+
+        assertEquals(numbers(1, 2), drain(pool, 0));
+        assertTrue(pool.isSoldOut());
+    }
+
+    @Test
+    void customersTakeFromOtherShardsWhenTheirsIsEmpty() {
+        ShardedTicketPool pool = new ShardedTicketPool(8, 100, 4, 0, TicketPoolListener.NONE);
+        assertTrue(pool.addTickets(2, 0)); // Both on shard 0
+
+        assertTrue(pool.tryRemoveTicket(1) > 0);
+        assertTrue(pool.tryRemoveTicket(3) > 0);
+        assertEquals(TicketPool.NO_TICKET, pool.tryRemoveTicket(2));
+    }
+
+    @Test
+    void concurrentVendorsAndCustomersSellEveryNumberOnce() throws Exception {
+        int totalTickets = 20_000;
+        ShardedTicketPool pool = new ShardedTicketPool(6, totalTickets, 4, 0, TicketPoolListener.NONE);
+        Set<Long> sold = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int vendorId = 0; vendorId < 4; vendorId++) {
+            int id = vendorId;
+            tasks.add(executor.submit(() -> {
+                while (pool.addTickets(2, id)) {
+                    Thread.yield(); // Keeps trying while the pool is full
+                }
+            }));
+        }
+        for (int customerId = 0; customerId < 4; customerId++) {
+            int id = customerId;
+            tasks.add(executor.submit(() -> {
+                long ticket;
+                while ((ticket = pool.removeTicket(id)) != TicketPool.SOLD_OUT) {
+                    assertTrue(sold.add(ticket), "Ticket sold twice: " + ticket);
+                }
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        for (Future<?> task : tasks) {
+            task.get(); // Rethrows assertion failures
+        }
+
+        assertEquals(numbers(1, totalTickets), sold);
+        assertEquals(0, pool.getTicketCount());
+    }
+
+    private static Set<Long> drain(TicketPool pool, int customerId) {
+        Set<Long> tickets = new HashSet<>();
+        long ticket;
+        while ((ticket = pool.tryRemoveTicket(customerId)) > 0) {
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    private static Set<Long> numbers(long first, long last) {
+        Set<Long> numbers = new HashSet<>();
+        for (long number = first; number <= last; number++) {
+            numbers.add(number);
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pool events reach the listener once each, and outside any lock the pool holds
+class TicketPoolListenerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void everyPoolEventIsReportedOnce(String poolType) {
+        RecordingListener listener = new RecordingListener();
+        TicketPool pool = TicketPool.create(poolType, 3, 4, 0, listener);
+
+        assertTrue(pool.addTickets(3, 1));
+        assertTrue(pool.addTickets(1, 2)); // Full, but more may fit later
+        assertTrue(pool.tryRemoveTicket(7) > 0);
+        assertTrue(pool.addTickets(5, 2));
+        assertFalse(pool.addTickets(1, 3));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(pool.tryRemoveTicket(7) > 0);
+        }
+
+        assertEquals(4, listener.count("added"));
+        assertEquals(List.of("full 2"), listener.matching("full"));
+        assertEquals(List.of("limit 3"), listener.matching("limit"));
+        assertEquals(4, listener.count("sold 7"));
+        assertEquals(List.of("sold out"), listener.matching("sold out"));
+        assertEquals("sold out", listener.events.get(listener.events.size() - 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void listenerCanUseThePoolFromAnotherThread(String poolType) throws Exception {
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        AtomicReference<TicketPool> poolRef = new AtomicReference<>();
+        List<String> blocked = new CopyOnWriteArrayList<>();
+        TicketPoolListener listener = new TicketPoolListener() { // A slow listener, such as console output
+            @Override
+            public void ticketsAdded(int vendorId, long firstTicket, int count, int poolSize) {
+                probe("ticketsAdded");
+            }
+
+            @Override
+            public void ticketSold(int customerId, long ticket, int poolSize) {
+                probe("ticketSold");
+            }
+
+            @Override
+            public void soldOut() {
+                probe("soldOut");
+            }
+
+            private void probe(String event) { // Would time out if the pool held its lock while calling us
+                try {
+                    other.submit(() -> poolRef.get().getTicketCount()).get(2, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    blocked.add(event);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        TicketPool pool = TicketPool.create(poolType, 2, 2, 0, listener);
+        poolRef.set(pool);
+
+        assertTrue(pool.addTickets(2, 1));
+        assertTrue(pool.tryRemoveTicket(1) > 0);
+        assertTrue(pool.tryRemoveTicket(2) > 0);
+
+        assertTrue(pool.isSoldOut());
+        assertEquals(List.of(), blocked);
+        other.shutdownNow();
+    }
+
+    private static class RecordingListener implements TicketPoolListener {
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void ticketsAdded(int vendorId, long firstTicket, int count, int poolSize) {
+            for (int i = 0; i < count; i++) {
+                events.add("added " + vendorId);
+            }
+        }
+
+        @Override
+        public void ticketSold(int customerId, long ticket, int poolSize) {
+            events.add("sold " + customerId);
+        }
+
+        @Override
+        public void poolFull(int vendorId) {
+            events.add("full " + vendorId);
+        }
+
+        @Override
+        public void totalLimitReached(int vendorId) {
+            events.add("limit " + vendorId);
+        }
+
+        @Override
+        public void soldOut() {
+            events.add("sold out");
+        }
+
+        long count(String prefix) {
+            return matching(prefix).size();
+        }
+
+        List<String> matching(String prefix) {
+            return events.stream().filter(event -> event.startsWith(prefix)).toList();
+        }
+    }
+}
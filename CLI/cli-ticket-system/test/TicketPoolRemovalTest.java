@@ -0,0 +1,97 @@
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Timed, non-blocking and async removal, and the sold-out signal, for every pool type
+class TicketPoolRemovalTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void timedRemoveGivesUpWhenNoTicketArrives(String poolType) {
+        TicketPool pool = TicketPool.create(poolType, 5, 10);
+        long start = System.nanoTime();
+
+        assertEquals(TicketPool.NO_TICKET, pool.removeTicket(1, 50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertTrue(pool.addTickets(1, 1));
+        assertEquals(1, pool.tryRemoveTicket(2)); // The customer who gave up no longer holds a place
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void timedRemoveGetsATicketAddedWhileWaiting(String poolType) throws Exception {
+        TicketPool pool = TicketPool.create(poolType, 5, 10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Long> ticket = executor.submit(() -> pool.removeTicket(1, 10, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        assertTrue(pool.addTickets(1, 1));
+        assertEquals(1, ticket.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void tryRemoveNeverWaits(String poolType) {
+        TicketPool pool = TicketPool.create(poolType, 5, 10);
+
+        assertEquals(TicketPool.NO_TICKET, pool.tryRemoveTicket(1));
+        assertTrue(pool.addTickets(2, 1));
+        assertEquals(1, pool.tryRemoveTicket(1));
+        assertEquals(1, pool.getTicketCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void asyncRemoveCompletesWhenATicketIsAdded(String poolType) throws Exception {
+        TicketPool pool = TicketPool.create(poolType, 5, 10);
+        CompletableFuture<Long> ticket = pool.removeTicketAsync(1);
+        assertFalse(ticket.isDone());
+
+        assertTrue(pool.addTickets(1, 1));
+        assertEquals(1, ticket.get(5, TimeUnit.SECONDS));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void cancelledAsyncRemoveLeavesTheTicketForOthers(String poolType) {
+        TicketPool pool = TicketPool.create(poolType, 5, 10);
+        CompletableFuture<Long> ticket = pool.removeTicketAsync(1);
+        assertTrue(ticket.cancel(false));
+
+        assertTrue(pool.addTickets(1, 1));
+        assertEquals(1, pool.getTicketCount());
+        assertEquals(1, pool.tryRemoveTicket(2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void sellOutReleasesWaitersAndLaterCustomers(String poolType) throws Exception {
+        TicketPool pool = TicketPool.create(poolType, 5, 2);
+        CompletableFuture<Long> first = pool.removeTicketAsync(1);
+        CompletableFuture<Long> second = pool.removeTicketAsync(2);
+        CompletableFuture<Long> third = pool.removeTicketAsync(3);
+        assertFalse(pool.isSoldOut());
+
+        assertTrue(pool.addTickets(2, 1));
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS)); // Served in arrival order
+        assertEquals(2, second.get(5, TimeUnit.SECONDS));
+        assertEquals(TicketPool.SOLD_OUT, third.get(5, TimeUnit.SECONDS));
+        assertTrue(pool.isSoldOut());
+        assertFalse(pool.addTickets(1, 1));
+        assertEquals(TicketPool.SOLD_OUT, pool.removeTicket(4)); // Returns at once instead of waiting forever
+        assertEquals(TicketPool.SOLD_OUT, pool.tryRemoveTicket(4));
+        assertEquals(TicketPool.SOLD_OUT, pool.removeTicketAsync(4).get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketRingTest {
+
+    @Test
+    void takesTicketsInOrderAcrossManyLaps() {
+        TicketRing ring = new TicketRing(4);
+        long next = 1;
+        for (int lap = 0; lap < 10; lap++) {
+            for (int i = 0; i < 3; i++) {
+                ring.put(next + i);
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(next++, ring.take());
+            }
+        }
+        assertEquals(TicketPool.NO_TICKET, ring.take());
+    }
+
+    @Test
+    void holdsAtLeastTheRequestedCapacity() {
+        TicketRing ring = new TicketRing(5); // Rounded up to 8 internally
+        for (long ticket = 1; ticket <= 5; ticket++) {
+            ring.put(ticket);
+        }
+        for (long ticket = 1; ticket <= 5; ticket++) {
+            assertEquals(ticket, ring.take());
+        }
+    }
+
+    @Test
+    void emptyRingHasNoTicket() {
+        assertEquals(TicketPool.NO_TICKET, new TicketRing(1).take());
+    }
+
+    @Test
+    void concurrentVendorsAndCustomersPassEveryTicketOnce() throws Exception {
+        int capacity = 16;
+        int vendors = 4;
+        int ticketsPerVendor = 50_000;
+        TicketRing ring = new TicketRing(capacity);
+        Semaphore slots = new Semaphore(capacity); // Stands in for the pool's slot reservation
+        Set<Long> taken = ConcurrentHashMap.newKeySet();
+        AtomicInteger remaining = new AtomicInteger(vendors * ticketsPerVendor);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int v = 0; v < vendors; v++) {
+            long firstTicket = (long) v * ticketsPerVendor + 1;
+            tasks.add(executor.submit(() -> {
+                for (long ticket = firstTicket; ticket < firstTicket + ticketsPerVendor; ticket++) {
+                    slots.acquireUninterruptibly();
+                    ring.put(ticket);
+                }
+            }));
+        }
+        for (int c = 0; c < 4; c++) {
+            tasks.add(executor.submit(() -> {
+                while (remaining.get() > 0) {
+                    long ticket = ring.take();
+                    if (ticket == TicketPool.NO_TICKET) {
+                        Thread.yield();
+                        continue;
+                    }
+                    slots.release();
+                    assertTrue(taken.add(ticket), "Ticket taken twice: " + ticket);
+                    remaining.decrementAndGet();
+                }
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        for (Future<?> task : tasks) {
+            task.get(); // Rethrows assertion failures
+        }
+
+        assertEquals(vendors * ticketsPerVendor, taken.size());
+        assertEquals(TicketPool.NO_TICKET, ring.take());
+    }
+}
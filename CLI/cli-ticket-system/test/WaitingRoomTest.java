@@ -0,0 +1,147 @@
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// First come, first served waiting and per-customer limits, for every pool type
+class WaitingRoomTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void waitingCustomersAreServedInArrivalOrder(String poolType) throws Exception {
+        TicketPool pool = TicketPool.create(poolType, 5, 10);
+        List<CompletableFuture<Long>> waiting = new ArrayList<>();
+        for (int customerId = 1; customerId <= 5; customerId++) {
+            waiting.add(pool.removeTicketAsync(customerId));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(pool.addTickets(1, 1));
+            assertEquals(i + 1, waiting.get(i).get(5, TimeUnit.SECONDS)); // The n-th ticket goes to the n-th customer
+            for (int later = i + 1; later < 5; later++) {
+                assertFalse(waiting.get(later).isDone());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void customerOverTheLimitIsRefusedWhileOthersBuy(String poolType) throws Exception {
+        TicketPool pool = TicketPool.create(poolType, 10, 10, 2, TicketPoolListener.NONE);
+        assertTrue(pool.addTickets(5, 1));
+
+        assertTrue(pool.tryRemoveTicket(1) > 0);
+        assertTrue(pool.removeTicket(1, 1, TimeUnit.SECONDS) > 0);
+        assertEquals(TicketPool.LIMIT_REACHED, pool.tryRemoveTicket(1));
+        assertEquals(TicketPool.LIMIT_REACHED, pool.removeTicket(1, 1, TimeUnit.SECONDS));
+        assertEquals(TicketPool.LIMIT_REACHED, pool.removeTicketAsync(1).get(5, TimeUnit.SECONDS));
+
+        assertTrue(pool.tryRemoveTicket(2) > 0);
+        assertEquals(2, pool.getTicketCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void customersWhoStopWaitingKeepTheirAllowance(String poolType) throws Exception {
+        TicketPool pool = TicketPool.create(poolType, 10, 10, 1, TicketPoolListener.NONE);
+
+        assertEquals(TicketPool.NO_TICKET, pool.tryRemoveTicket(1));
+        assertEquals(TicketPool.NO_TICKET, pool.removeTicket(1, 20, TimeUnit.MILLISECONDS));
+        assertTrue(pool.removeTicketAsync(1).cancel(false));
+
+        assertTrue(pool.addTickets(1, 1));
+        assertEquals(1, pool.tryRemoveTicket(1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void concurrentCustomersEachBuyExactlyTheirLimit(String poolType) throws Exception {
+        int customers = 4;
+        int limit = 250;
+        TicketPool pool = TicketPool.create(poolType, 8, customers * limit, limit, TicketPoolListener.NONE);
+        Set<Long> sold = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(customers + 2);
+        List<Future<Integer>> bought = new ArrayList<>();
+        for (int customerId = 1; customerId <= customers; customerId++) {
+            int id = customerId;
+            bought.add(executor.submit(() -> {
+                int count = 0;
+                long ticket;
+                while ((ticket = pool.removeTicket(id)) > 0) {
+                    assertTrue(sold.add(ticket), "Ticket sold twice: " + ticket);
+                    count++;
+                }
+                assertEquals(TicketPool.LIMIT_REACHED, ticket);
+                return count;
+            }));
+        }
+        for (int vendorId = 1; vendorId <= 2; vendorId++) {
+            int id = vendorId;
+            executor.submit(() -> {
+                while (pool.addTickets(3, id)) {
+                    Thread.yield(); // Keeps trying while the pool is full
+                }
+            });
+        }
+
+        for (Future<Integer> count : bought) {
+            assertEquals(limit, count.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(customers * limit, sold.size());
+        assertTrue(pool.isSoldOut());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {TicketPool.RING_BUFFER, TicketPool.SYNCHRONIZED, TicketPool.SHARDED})
+    void customerGivingUpWhileBeingServedWaitsForTheOutcome(String poolType) throws Exception {
+        CountDownLatch serving = new CountDownLatch(1);
+        CountDownLatch finishServing = new CountDownLatch(1);
+        TicketPool pool = TicketPool.create(poolType, 10, 10, 0, new TicketPoolListener() {
+            @Override
+            public void customerWaited(int customerId, long waitNanos) { // Called while the customer is being served
+                serving.countDown();
+                awaitUninterruptibly(finishServing);
+            }
+        });
+        CompletableFuture<Long> first = pool.removeTicketAsync(1);
+        CompletableFuture<Long> second = pool.removeTicketAsync(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Boolean> vendor = executor.submit(() -> pool.addTickets(1, 1));
+        assertTrue(serving.await(5, TimeUnit.SECONDS));
+
+        Future<Boolean> cancelled = executor.submit(() -> first.cancel(false));
+        assertTrue(pool.addTickets(1, 2)); // Leaves the serving thread a pass instead of waiting for it
+        Thread.sleep(100);
+        assertFalse(cancelled.isDone());
+        finishServing.countDown();
+
+        assertFalse(cancelled.get(5, TimeUnit.SECONDS)); // The ticket was already handed over
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, second.get(5, TimeUnit.SECONDS));
+        assertTrue(vendor.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -15,8 +15,6 @@ import { toast } from 'react-toastify';
 import axios from 'axios';
 
 const API_URL = 'http://localhost:8080/api';
-let vendorIntervals = [];
-let customerIntervals = [];
 
 function Dashboard() {
   const [systemStatus, setSystemStatus] = useState('stopped');
@@ -31,10 +29,16 @@ function Dashboard() {
 
   useEffect(() => {
     fetchConfiguration();
-    const statusInterval = setInterval(fetchTicketStatus, 1000);
+    fetchTicketStatus();
+    fetchSimulationStatus();
+    // The backend pushes status changes, so there is no need to poll
+    const events = new EventSource(`${API_URL}/stream`);
+    events.addEventListener('status', (event) => {
+      setTicketStatus(JSON.parse(event.data));
+    });
+    // Only local resources are released; the simulation keeps running until Stop is pressed
     return () => {
-      clearInterval(statusInterval);
-      stopAllOperations();
+      events.close();
     };
   }, []);
 
@@ -56,37 +60,29 @@ function Dashboard() {
     }
   };
 
-  const startVendorOperations = () => {
-    for (let i = 1; i <= 3; i++) {
-      const interval = setInterval(async () => {
-        try {
-          await axios.post(`${API_URL}/tickets/vendor/${i}`);
-        } catch (error) {
-          console.error(`Vendor ${i} error:`, error);
-        }
-      }, configuration.ticketReleaseRate * 1000);
-      vendorIntervals.push(interval);
+  // The simulation outlives the page, so a reopened dashboard picks up its state
+  const fetchSimulationStatus = async () => {
+    try {
+      const response = await axios.get(`${API_URL}/simulation/status`);
+      setSystemStatus(response.data.running ? 'running' : 'stopped');
+    } catch (error) {
+      console.error('Error fetching simulation status:', error);
     }
   };
 
-  const startCustomerOperations = () => {
-    for (let i = 1; i <= 5; i++) {
-      const interval = setInterval(async () => {
-        try {
-          await axios.post(`${API_URL}/tickets/customer/${i}`);
-        } catch (error) {
-          console.error(`Customer ${i} error:`, error);
-        }
-      }, configuration.customerRetrievalRate * 1000);
-      customerIntervals.push(interval);
-    }
+  // Vendors and customers are simulated on the server
+  const startSimulation = async () => {
+    await axios.post(`${API_URL}/simulation/start`, null, {
+      params: { vendors: 3, customers: 5 }
+    });
   };
 
-  const stopAllOperations = () => {
-    vendorIntervals.forEach(clearInterval);
-    customerIntervals.forEach(clearInterval);
-    vendorIntervals = [];
-    customerIntervals = [];
+  const stopAllOperations = async () => {
+    try {
+      await axios.post(`${API_URL}/simulation/stop`);
+    } catch (error) {
+      console.error('Error stopping simulation:', error);
+    }
   };
 
   const handleStart = async () => {
@@ -96,9 +92,8 @@ function Dashboard() {
     }
     setLoading(true);
     try {
+      await startSimulation();
       setSystemStatus('running');
-      startVendorOperations();
-      startCustomerOperations();
       toast.success('System started successfully');
     } catch (error) {
       toast.error('Error starting system');
@@ -110,7 +105,7 @@ function Dashboard() {
   const handleStop = async () => {
     setLoading(true);
     try {
-      stopAllOperations();
+      await stopAllOperations();
       setSystemStatus('stopped');
       toast.info('System stopped');
     } catch (error) {
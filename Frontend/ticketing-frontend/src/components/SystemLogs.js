@@ -31,11 +31,6 @@ function SystemLogs({ systemStatus }) {
       try {
         const response = await axios.get(`http://localhost:8080/api/logs`);
         setLogs(response.data);
-        
-        // Only scroll if new logs were added and autoScroll is enabled
-        if (response.data.length > prevLogsLength.current && autoScroll) {
-          scrollToBottom();
-        }
         prevLogsLength.current = response.data.length;
       } catch (error) {
         console.error('Error fetching logs:', error);
@@ -43,8 +38,18 @@ function SystemLogs({ systemStatus }) {
     };
 
     fetchLogs();
-    const interval = setInterval(fetchLogs, 1000);
-    return () => clearInterval(interval);
+    // New entries are pushed by the backend, oldest first; the list shows the newest 100 first
+    const events = new EventSource(`http://localhost:8080/api/stream`);
+    events.addEventListener('logs', (event) => {
+      const newLogs = JSON.parse(event.data).reverse();
+      setLogs((current) => [...newLogs, ...current].slice(0, 100));
+
+      // Only scroll if new logs were added and autoScroll is enabled
+      if (newLogs.length > 0 && autoScroll) {
+        scrollToBottom();
+      }
+    });
+    return () => events.close();
   }, [systemStatus, autoScroll]);
 
   const getLogColor = (type) => {